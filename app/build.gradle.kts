@@ -31,6 +31,10 @@ android {
         targetCompatibility = JavaVersion.VERSION_1_8
     }
 
+    testOptions { // JVM unit tests: android.* stubs (Log, SystemClock) return defaults instead of throwing
+        unitTests.isReturnDefaultValues = true
+    }
+
     buildFeatures { // Allow binding
         viewBinding = true
         dataBinding = true
@@ -61,6 +65,7 @@ dependencies {
 
     // testing dependencies
     testImplementation(libs.junit) // Unit testing framework
+    testImplementation(libs.json) // real org.json; android.jar only has stubs off-device
     androidTestImplementation(libs.ext.junit) // Extended Android-specific testing
     androidTestImplementation(libs.espresso.core) // UI testing framework
 }
\ No newline at end of file
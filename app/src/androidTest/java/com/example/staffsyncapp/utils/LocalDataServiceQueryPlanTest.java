@@ -0,0 +1,118 @@
+package com.example.staffsyncapp.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the hot LocalDataService queries are answered from an index, not a full table scan.
+ * Runs EXPLAIN QUERY PLAN against the real schema (createIndexes included), so dropping or
+ * reordering an index column fails here instead of showing up as a slow dashboard.
+ *
+ * @see LocalDataService#createIndexes
+ */
+@RunWith(AndroidJUnit4.class)
+public class LocalDataServiceQueryPlanTest {
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = LocalDataService.getInstance(context).getReadableDatabase();
+    }
+
+    // LEAVE REQUESTS ---
+
+    @Test
+    public void pendingLeaveRequests_useStatusCreatedIndex() { // getPendingLeaveRequests
+        assertUsesIndex("SELECT * FROM leave_requests WHERE status = ? ORDER BY created_at DESC",
+                new String[]{"pending"}, "idx_leave_requests_status_created");
+    }
+
+    @Test
+    public void leaveRequestsForEmployee_useEmployeeStatusIndex() { // CursorLeaveRequests
+        assertUsesIndex("SELECT * FROM leave_requests WHERE employee_id = ?",
+                new String[]{"1"}, "idx_leave_requests_employee_status");
+    }
+
+    @Test
+    public void pendingDays_isCoveredByEmployeeStatusIndex() { // getRemainingLeaveDays
+        List<String> plan = assertUsesIndex(
+                "SELECT COALESCE(SUM(days_requested), 0) FROM leave_requests WHERE employee_id = ? AND status = 'pending'",
+                new String[]{"1"}, "idx_leave_requests_employee_status");
+        assertTrue("expected a covering index: " + plan, plan.toString().contains("COVERING INDEX"));
+    }
+
+    // NOTIFICATIONS ---
+
+    @Test
+    public void employeeNotifications_useEmployeeReadIndex() { // checkPendingNotifications, checkEmployeeNotifications
+        assertUsesIndex("SELECT * FROM pending_notifications WHERE employee_id = ? AND is_read = 0 ORDER BY created_at DESC",
+                new String[]{"1"}, "idx_pending_notifications_employee_read");
+    }
+
+    @Test
+    public void adminNotifications_useEmployeeReadIndex() {
+        assertUsesIndex("SELECT * FROM pending_notifications WHERE employee_id = 0 AND is_read = 0 ORDER BY created_at DESC",
+                null, "idx_pending_notifications_employee_read");
+    }
+
+    // UNIQUE COLUMNS ---
+
+    @Test
+    public void employeeDetailsById_useUniqueIndex() { // SQL_USED_LEAVE, SQL_EMPLOYEE_NAME, directory sync
+        assertUsesIndex("SELECT used_leave FROM employee_details WHERE employee_id = ?",
+                new String[]{"1"}, "sqlite_autoindex_employee_details");
+    }
+
+    @Test
+    public void employeeLogin_usesUniqueEmailIndex() { // SQL_EMPLOYEE_LOGIN
+        assertUsesIndex("SELECT password, is_admin, employee_id, first_login, id FROM employees WHERE email = ?",
+                new String[]{"admin@staffsync.com"}, "sqlite_autoindex_employees");
+    }
+
+    // HELPERS ---
+
+    private List<String> assertUsesIndex(String sql, String[] args, String indexName) {
+        List<String> plan = queryPlan(sql, args);
+        boolean usesIndex = false;
+        for (String detail : plan) {
+            assertFalse("full table scan: " + sql + " -> " + detail,
+                    detail.startsWith("SCAN") && !detail.contains("INDEX"));
+            assertFalse("sorted outside the index: " + sql + " -> " + detail,
+                    detail.contains("TEMP B-TREE"));
+            if (detail.contains("USING INDEX " + indexName) || detail.contains("USING COVERING INDEX " + indexName)) {
+                usesIndex = true;
+            }
+        }
+        assertTrue("expected USING INDEX " + indexName + ": " + sql + " -> " + plan, usesIndex);
+        return plan;
+    }
+
+    private List<String> queryPlan(String sql, String[] args) {
+        List<String> details = new ArrayList<>();
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+        try {
+            int detailColumn = cursor.getColumnIndexOrThrow("detail");
+            while (cursor.moveToNext()) {
+                details.add(cursor.getString(detailColumn));
+            }
+        } finally {
+            cursor.close();
+        }
+        return details;
+    }
+}
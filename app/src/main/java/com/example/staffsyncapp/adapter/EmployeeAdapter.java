@@ -14,6 +14,8 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 // Employee model class
@@ -22,30 +24,57 @@ import com.example.staffsyncapp.models.Employee;
 
 // NumberFormat and Locale libraries for currency formatting
 import java.text.NumberFormat;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 
 
 public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.ViewHolder> {
     // EmployeeAdapter class for displaying employee data in a RecyclerView, dynamically; going to be used elsewhere in the future
     private static final String TAG = "EmployeeAdapter";
-    private final List<Employee> employees;
+    private final AsyncListDiffer<Employee> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK); // diffs list swaps off the main thread
     private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.UK);
     private static final String ID_FORMAT = "(ID: %d)"; // defined static to be accessible app-wide via EmployeeAdapter.ID_FORMAT
-    private List<Employee> employeesFull;
+    private List<Employee> employeesFull; // shared reference to the full list (not a copy)
+
+    private int bindCount = 0; // rows bound since creation; shows how many rows a list update actually rebinds
+    private int bindCountAtSubmit = 0;
 
     private OnEmployeeDeleteListener deleteListener;
     private OnEmployeeUpdateListener updateListener;
 
     public EmployeeAdapter(List<Employee> employees) { // Employee list constructor
-        // create new lists to avoid reference issues
-        this.employees = new ArrayList<>(employees);
-        this.employeesFull = new ArrayList<>(employees);
+        // lists from ApiDataService are unmodifiable, so keep a reference instead of copying them twice
+        this.employeesFull = Collections.unmodifiableList(employees);
+        setHasStableIds(true); // employee id; lets RecyclerView keep rows that only moved
+        differ.submitList(employeesFull); // first submit has nothing to diff against, so it applies immediately
         Log.d(TAG, "EmployeeAdapter initialised with " + employees.size() + " employees");
     }
 
+    // same id = same row; only rows whose fields changed are rebound. Package-private for EmployeeAdapterTest
+    static final DiffUtil.ItemCallback<Employee> DIFF_CALLBACK = new DiffUtil.ItemCallback<Employee>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Employee oldItem, @NonNull Employee newItem) {
+            if (oldItem.getId() < 0 || newItem.getId() < 0) { // pending adds share id -1; see EmployeeCache.putCreated
+                return oldItem.getId() == newItem.getId() && Objects.equals(oldItem.getEmail(), newItem.getEmail());
+            }
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Employee oldItem, @NonNull Employee newItem) {
+            if (oldItem == newItem) return true; // Employee is immutable; filtered lists share instances
+            return Objects.equals(oldItem.getFirstname(), newItem.getFirstname())
+                    && Objects.equals(oldItem.getLastname(), newItem.getLastname())
+                    && Objects.equals(oldItem.getEmail(), newItem.getEmail())
+                    && Objects.equals(oldItem.getDepartment(), newItem.getDepartment())
+                    && oldItem.getSalary() == newItem.getSalary()
+                    && Objects.equals(oldItem.getJoiningDate(), newItem.getJoiningDate());
+        }
+    };
+
     public interface OnEmployeeDeleteListener {
         void onDeleteClicked(Employee employee);
     }
@@ -64,7 +93,8 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.ViewHo
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) { // bind employee data to the view
         try {
-            Employee employee = employees.get(position);
+            bindCount++;
+            Employee employee = differ.getCurrentList().get(position);
             String employeeName = employee.getName();
 
             holder.nameTextView.setText(employeeName.isEmpty() ? "N/A" : employeeName);
@@ -105,7 +135,12 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.ViewHo
 
     @Override
     public int getItemCount() {
-        return employees.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     public void setOnEmployeeDeleteListener(OnEmployeeDeleteListener listener) { // set delete listener
@@ -116,58 +151,33 @@ public class EmployeeAdapter extends RecyclerView.Adapter<EmployeeAdapter.ViewHo
         this.updateListener = listener;
     }
     
-    // Update adapter's list without changing total employee count
-    public void updateDisplayList(List<Employee> displayedEmployees) {
-        this.employees.clear();
-        this.employees.addAll(displayedEmployees);
-        notifyDataSetChanged(); // refresh the RecyclerView
-    }
-
-
     /**
-     * Filter the employee list based on the search text;
-     * - if search text is empty, show full list
-     * - case-insensitive search
-     * - search through the backup list
-     * - notify adapter that data has changed
-     * @param text
+     * Replace the full employee list (e.g. after a fetch, add or delete); the adapter is created once
+     * and every later list is diffed against the rows on screen, so only changed rows rebind
+     * @param employees the fetched list; kept by reference
      */
-     
-    public void filter(String text) {
-        try { // TODO SearchByID [X]
-            // clear current list but preserve the fullList
-            employees.clear();
-
-            // if search text is empty, show full list
-            if (text == null || text.isEmpty()) {
-                employees.addAll(employeesFull);
-            } else {
-                // case-insensitive search
-                text = text.toLowerCase();
-
-                // search through the backup list
-                for (Employee employee : employeesFull) {
-                    if (employee.getFirstname().toLowerCase().contains(text) ||
-                            employee.getLastname().toLowerCase().contains(text) ||
-                            employee.getEmail().toLowerCase().contains(text) ||
-                            employee.getDepartment().toLowerCase().contains(text)) {
-                        employees.add(employee);
-                    }
-                }
-            }
+    public void submitEmployees(List<Employee> employees) {
+        Log.d(TAG, "Submitting " + employees.size() + " employees; "
+                + (bindCount - bindCountAtSubmit) + " rows bound since the previous update");
+        bindCountAtSubmit = bindCount;
+        employeesFull = Collections.unmodifiableList(employees);
+        showEmployees(employeesFull);
+    }
+
+    public int getBindCount() {
+        return bindCount;
+    }
 
-            // notify adapter that data has changed
-            notifyDataSetChanged();
-            Log.d(TAG, "Filter applied with text: '" + text + "'. Results: " + employees.size());
+    // Update adapter's list without changing total employee count
+    public void updateDisplayList(List<Employee> displayedEmployees) {
+        showEmployees(displayedEmployees);
+    }
 
-        } catch (Exception e) { // restore the full list if exception
-            Log.e(TAG, "Error filtering employees...", e);
-            employees.clear();
-            employees.addAll(employeesFull);
-            notifyDataSetChanged();
-        }
+    private void showEmployees(List<Employee> displayedEmployees) { // diffed in the background; only changed rows rebind
+        differ.submitList(displayedEmployees);
     }
 
+
     // Define ViewModel for employee data
     public static class EmployeeViewModel extends ViewModel {
         private MutableLiveData<Employee> employeeLiveData = new MutableLiveData<>();
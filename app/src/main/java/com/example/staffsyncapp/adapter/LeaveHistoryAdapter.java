@@ -12,15 +12,17 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.staffsyncapp.R;
 import com.example.staffsyncapp.models.LeaveRequest;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
 * Leave History Adapter
@@ -29,7 +31,7 @@ import java.util.Locale;
 
 
 public class LeaveHistoryAdapter extends RecyclerView.Adapter<LeaveHistoryAdapter.ViewHolder> {
-    private List<LeaveRequest> leaveRequests;
+    private final AsyncListDiffer<LeaveRequest> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private final Context context;
 
     public interface OnItemDeleteListener { // permanently remove completed leave requests
@@ -38,14 +40,38 @@ public class LeaveHistoryAdapter extends RecyclerView.Adapter<LeaveHistoryAdapte
 
     private OnItemDeleteListener deleteListener;
 
+    /**
+     * Diff callback for leave requests; rows are matched by request id
+     * and only rebound when a displayed field (e.g. status) changed.
+     */
+    static final DiffUtil.ItemCallback<LeaveRequest> DIFF_CALLBACK = new DiffUtil.ItemCallback<LeaveRequest>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull LeaveRequest oldItem, @NonNull LeaveRequest newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LeaveRequest oldItem, @NonNull LeaveRequest newItem) {
+            return oldItem.getEmployeeId() == newItem.getEmployeeId()
+                    && oldItem.getDaysRequested() == newItem.getDaysRequested()
+                    && Objects.equals(oldItem.getEmployeeName(), newItem.getEmployeeName())
+                    && Objects.equals(oldItem.getStartDate(), newItem.getStartDate())
+                    && Objects.equals(oldItem.getEndDate(), newItem.getEndDate())
+                    && Objects.equals(oldItem.getReason(), newItem.getReason())
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && Objects.equals(oldItem.getAdminResponse(), newItem.getAdminResponse())
+                    && Objects.equals(oldItem.getCreatedAt(), newItem.getCreatedAt());
+        }
+    };
+
 
     /**
-     * Constructor for LeaveHistoryAdapter; initialises context and leaveRequests
+     * Constructor for LeaveHistoryAdapter; initialises context and enables stable ids
      * @param context: the context in which the adapter is being used.
      */
     public LeaveHistoryAdapter(Context context) {
         this.context = context;
-        this.leaveRequests = new ArrayList<>();
+        setHasStableIds(true);
     }
 
 
@@ -70,7 +96,8 @@ public class LeaveHistoryAdapter extends RecyclerView.Adapter<LeaveHistoryAdapte
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        if (leaveRequests == null || position >= leaveRequests.size()) return; // null checks
+        List<LeaveRequest> leaveRequests = differ.getCurrentList();
+        if (position >= leaveRequests.size()) return; // bounds check
 
 
         LeaveRequest request = leaveRequests.get(position);
@@ -147,17 +174,22 @@ public class LeaveHistoryAdapter extends RecyclerView.Adapter<LeaveHistoryAdapte
 
     @Override
     public int getItemCount() {
-        return leaveRequests.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     /**
-     * Updates the RecyclerView with a new list of leave requests and refreshes the data view.
+     * Updates the RecyclerView with a new list of leave requests;
+     * the list is diffed in the background and only changed rows are rebound.
      * @param requests: the new list of leave requests to display.
      */
     public void setLeaveRequests(List<LeaveRequest> requests) {
         Log.d(TAG, "Setting leave requests: " + requests.size()); // log size of leave requests
-        this.leaveRequests = requests;
-        notifyDataSetChanged();
+        differ.submitList(requests);
     }
 
     /**
@@ -5,6 +5,7 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.staffsyncapp.R;
@@ -20,7 +21,8 @@ import java.util.List;
  * Core functionalities:
  * - displays employee leave requests with details like name, dates, reason
  * - provides approve/deny actions that trigger callbacks to AdminHolidayRequestFragment
- * - manages list of pending requests via updateRequests() method
+ * - manages list of pending requests via updateRequests() method; new lists are diffed
+ *   in the background (AsyncListDiffer) so only changed rows rebind
 
  * Main responsibilities:
  *  * - Binds leave request data to the list item views
@@ -45,7 +47,8 @@ import java.util.List;
  */
 
 public class LeaveRequestAdapter extends RecyclerView.Adapter<LeaveRequestAdapter.ViewHolder> {
-    private final List<LeaveRequest> requests = new ArrayList<>();
+    private final AsyncListDiffer<LeaveRequest> differ =
+            new AsyncListDiffer<>(this, LeaveHistoryAdapter.DIFF_CALLBACK); // same row identity/content rules
     private final OnRequestActionListener listener;
 
     public interface OnRequestActionListener {
@@ -55,6 +58,7 @@ public class LeaveRequestAdapter extends RecyclerView.Adapter<LeaveRequestAdapte
 
     public LeaveRequestAdapter(OnRequestActionListener listener) {
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     @NonNull
@@ -67,7 +71,7 @@ public class LeaveRequestAdapter extends RecyclerView.Adapter<LeaveRequestAdapte
 
     @Override // override to bind LeaveRequest data to ViewHolder views at given position
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) { // bind to input data
-        LeaveRequest request = requests.get(position);
+        LeaveRequest request = differ.getCurrentList().get(position);
 
         holder.employeeName.setText(request.getEmployeeName());
         holder.employeeId.setText(String.format("(ID: %d)", request.getEmployeeId()));
@@ -82,13 +86,16 @@ public class LeaveRequestAdapter extends RecyclerView.Adapter<LeaveRequestAdapte
 
     @Override
     public int getItemCount() {
-        return requests.size();
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return differ.getCurrentList().get(position).getId();
     }
 
     public void updateRequests(List<LeaveRequest> newRequests) {
-        requests.clear();
-        requests.addAll(newRequests);
-        notifyDataSetChanged();
+        differ.submitList(new ArrayList<>(newRequests)); // copy; the caller may reuse its list
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder { // Cache views from layout to avoid repeated findViewById() calls
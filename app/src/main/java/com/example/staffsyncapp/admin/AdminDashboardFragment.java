@@ -15,6 +15,7 @@ import android.view.LayoutInflater;
 import android.widget.TextView;
 
 import com.example.staffsyncapp.api.ApiDataService;
+import com.example.staffsyncapp.api.ApiExecutor;
 import com.example.staffsyncapp.R;
 import com.example.staffsyncapp.adapter.EmployeeAdapter;
 import com.example.staffsyncapp.utils.NotificationService;
@@ -23,6 +24,8 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.snackbar.Snackbar;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -35,6 +38,7 @@ import android.widget.ProgressBar;
 import android.widget.Toast;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 // additional AndroidX imports for fragment and annotations
 import androidx.annotation.NonNull;
@@ -99,8 +103,12 @@ public class AdminDashboardFragment extends Fragment {
     private Employee currentEmployee;
 
     // Employee search functionality variables
+    private static final long SEARCH_DEBOUNCE_MS = 250; // wait for typing to pause before searching
     private EditText searchEmployeeInput;
     private EmployeeAdapter adminEmployeeAdapter;
+    private EmployeeSearchPipeline searchPipeline;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private Runnable pendingSearch;
 
     // Employee list collapse functionality variables
     private boolean isEmployeeListExpanded = true;
@@ -125,7 +133,12 @@ public class AdminDashboardFragment extends Fragment {
     
         @Override
         public void onTextChanged(CharSequence s, int start, int before, int count) {
-            handleSearchTextChange(s.toString().trim());
+            String searchText = s.toString().trim();
+            if (pendingSearch != null) {
+                searchHandler.removeCallbacks(pendingSearch); // newer keystroke; drop the old one
+            }
+            pendingSearch = () -> handleSearchTextChange(searchText);
+            searchHandler.postDelayed(pendingSearch, SEARCH_DEBOUNCE_MS);
         }
     
         @Override
@@ -135,7 +148,7 @@ public class AdminDashboardFragment extends Fragment {
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) { // set up binding; database and API services
         binding = AdminDashboardFragmentBinding.inflate(inflater, container, false);
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
         employeeDataService = new ApiDataService(requireContext());
         return binding.getRoot();
     }
@@ -149,7 +162,10 @@ public class AdminDashboardFragment extends Fragment {
 
         sharedPreferences = requireContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE); // initialise shared preferences
 
-        fetchAndShowEmployees(); // initial load
+        searchPipeline = new EmployeeSearchPipeline((query, results) -> { // results arrive on the main thread
+            if (binding == null || adminEmployeeAdapter == null) return;
+            adminEmployeeAdapter.updateDisplayList(results);
+        });
 
         // dynamic employee list with RecyclerView [X]
 
@@ -163,6 +179,10 @@ public class AdminDashboardFragment extends Fragment {
 
         recyclerView.setVisibility(View.VISIBLE); // 5- show list
 
+        setupEmployeeAdapter(); // 6- one adapter for the fragment's lifetime; fetches only submit new lists to it
+
+        fetchAndShowEmployees(); // initial load
+
         setupClickListeners(); // check each click listener
         setupSearchFunctionality(); // setup employee list search functionality
 
@@ -205,6 +225,7 @@ public class AdminDashboardFragment extends Fragment {
     }
     
     private void handleIdSearch(String searchText) {
+        searchPipeline.cancel(); // a late name-search result must not overwrite the ID result
         if (!searchText.isEmpty()) {
             try {
                 int employeeId = Integer.parseInt(searchText);
@@ -218,9 +239,7 @@ public class AdminDashboardFragment extends Fragment {
     }
     
     private void handleNameSearch(String searchText) {
-        if (adminEmployeeAdapter != null) {
-            adminEmployeeAdapter.filter(searchText);
-        }
+        searchPipeline.submit(searchText); // filtered off the main thread; superseded queries are dropped
     }
     
     private void showInvalidIdError() {
@@ -235,11 +254,14 @@ public class AdminDashboardFragment extends Fragment {
     }
     //----------------------------------------------------------------------------------------------
     // Employee management
-    private void setupEmployeeAdapter(List<Employee> employees) {
-        adminEmployeeAdapter = new EmployeeAdapter(employees);
+    private void setupEmployeeAdapter() {
+        adminEmployeeAdapter = new EmployeeAdapter(Collections.emptyList());
 
         // Set up the delete listener; 
         adminEmployeeAdapter.setOnEmployeeDeleteListener(employee -> {
+            if (isPendingAdd(employee)) {
+                return;
+            }
             employeeDataService.deleteEmployee(
                     employee.getId(),
                     new ApiDataService.EmployeeDeleteListener() {
@@ -263,11 +285,25 @@ public class AdminDashboardFragment extends Fragment {
         });
 
         adminEmployeeAdapter.setOnEmployeeUpdateListener(employee -> {
+            if (isPendingAdd(employee)) {
+                return;
+            }
             showUpdateDialog(requireContext(), employee);
         });
 
         binding.recyclerViewEmployees.setAdapter(adminEmployeeAdapter);
     }
+
+    // just added; the API doesn't return the new id, so it can't be edited/deleted until the next directory fetch
+    private boolean isPendingAdd(Employee employee) {
+        if (employee.getId() >= 0) {
+            return false;
+        }
+        Toast.makeText(requireContext(),
+                "This employee is still syncing; try again after refreshing",
+                Toast.LENGTH_SHORT).show();
+        return true;
+    }
     
     private void fetchAndShowEmployees() {
         ApiDataService.getAllEmployees(new ApiDataService.EmployeeFetchListener() {
@@ -280,8 +316,10 @@ public class AdminDashboardFragment extends Fragment {
 
                 if (employees != null && !employees.isEmpty()) {
                     totalEmployeeCount = employees.size();
-                    // 1- initialise employee list adapter && assign it
-                    setupEmployeeAdapter(employees);
+                    // 1- hand the list to the existing adapter; diffed against what's on screen
+                    adminEmployeeAdapter.submitEmployees(employees);
+                    searchPipeline.setEmployees(employees); // re-index; re-applies any search text still in the box
+                    dbHelper.syncEmployeeDirectory(employees); // mirror the directory locally in one background transaction
                     // 2- display the populated list; update total count
                     binding.recyclerViewEmployees.setVisibility(View.VISIBLE);
                     binding.totalEmployeesCount.setText(String.valueOf(employees.size()));
@@ -308,11 +346,7 @@ public class AdminDashboardFragment extends Fragment {
             public void onEmployeesFetched(List<Employee> employees) {
                 binding.progressBar.setVisibility(View.GONE);
                 if (employees != null && !employees.isEmpty()) {
-                    if (adminEmployeeAdapter != null) {
-                        adminEmployeeAdapter.updateDisplayList(employees); // update existing adapter
-                    } else {
-                        setupEmployeeAdapter(employees); // create new adapter if none exists
-                    }
+                    adminEmployeeAdapter.updateDisplayList(employees); // update existing adapter
                     // don't update total count as it should show ALL employees
                 }
             }
@@ -365,15 +399,19 @@ public class AdminDashboardFragment extends Fragment {
                         joiningDateInput.getText().toString(),
                         new ApiDataService.EmployeeAddListener() {
                             @Override
-                            public void onSuccess(String message, int employeeId, String email) {
-                                LocalDataService dbHelper = new LocalDataService(requireContext());
-                                dbHelper.createEmployeeAccount(employeeId, email);
+                            public void onSuccess(String message, Employee employee) {
+                                LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
+                                if (employee.getId() >= 0) {
+                                    dbHelper.createEmployeeAccount(employee.getId(), employee.getEmail());
+                                } else { // the usual case: linked to its id by the next directory sync
+                                    dbHelper.createPendingEmployeeAccount(employee.getEmail());
+                                }
 
                                 dialog.dismiss();
                                 Toast.makeText(requireContext(),
                                         "Employee added successfully",
                                         Toast.LENGTH_SHORT).show();
-                                fetchAndShowEmployees();
+                                fetchAndShowEmployees(); // served from the cached list, which already includes the new employee
                             }
 
                             @Override
@@ -626,6 +664,7 @@ public class AdminDashboardFragment extends Fragment {
         binding.refreshEmployeesBtn.setOnClickListener(v -> {
             Log.d(TAG, "refresh employees list requested");
             binding.progressBar.setVisibility(View.VISIBLE);  // show loading whilst fetching
+            ApiDataService.invalidateEmployeeCache(); // explicit refresh should always hit the API
             fetchAndShowEmployees(); // effectively refreshes/synchronises the RecyclerView with the API data
         });
 
@@ -803,7 +842,7 @@ public class AdminDashboardFragment extends Fragment {
     }
 
     public static void getIncrementStatus(SalaryIncrementManager.IncrementStatusListener listener) {
-        ApiDataService.getAllEmployees(new ApiDataService.EmployeeFetchListener() {
+        ApiDataService.getAllEmployees(ApiExecutor.Lane.BACKGROUND, new ApiDataService.EmployeeFetchListener() {
             @Override
             public void onEmployeesFetched(List<Employee> employees) {
                 try {
@@ -839,9 +878,14 @@ public class AdminDashboardFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        if (pendingSearch != null) {
+            searchHandler.removeCallbacks(pendingSearch);
+        }
+        if (searchPipeline != null) {
+            searchPipeline.shutdown();
+        }
         if (employeeDataService != null) {
-            employeeDataService.cleanUp();  // ensure all worker threads are terminated to prevent memory leak
-            Log.d(TAG, "Worker thread cleaned up");
+            employeeDataService.cleanUp();  // detach this screen's network callback; the shared worker pool keeps running
         }
         binding = null;
     }
@@ -33,7 +33,7 @@ public class AdminLeaveRequestsFragment extends Fragment implements LeaveRequest
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         binding = AdminHolidayRequestsFragmentBinding.inflate(inflater, container, false);
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
         notificationService = new NotificationService(requireContext());
         return binding.getRoot();
     }
@@ -0,0 +1,98 @@
+package com.example.staffsyncapp.admin;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.staffsyncapp.models.Employee;
+import com.example.staffsyncapp.utils.EmployeeSearchIndex;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background search pipeline for the admin dashboard employee list.
+ *
+ * - builds the EmployeeSearchIndex and runs queries on a single background thread,
+ *   so typing never filters on the UI thread
+ * - every submit supersedes the previous one: queued work is cancelled, and results
+ *   from an older query are dropped instead of being published
+ * - results are published to ResultListener on the main thread
+ *
+ * Debouncing is done by the caller (AdminDashboardFragment.SearchTextWatcher).
+ *
+ * @see AdminDashboardFragment
+ */
+public class EmployeeSearchPipeline {
+    private static final String TAG = "EmployeeSearchPipeline";
+
+    public interface ResultListener {
+        void onResults(String query, List<Employee> results);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService searchExecutor = Executors.newSingleThreadExecutor();
+    private final AtomicInteger latestQuery = new AtomicInteger(); // sequence number of the newest query
+    private final ResultListener listener;
+
+    private EmployeeSearchIndex index; // written and read on the search thread only
+    private Future<?> pendingSearch;
+    private String currentQuery = "";
+
+    public EmployeeSearchPipeline(ResultListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Replace the list being searched; the index is rebuilt in the background and
+     * the current query (if any) is re-run against it
+     * @param employees full employee list
+     */
+    public void setEmployees(List<Employee> employees) {
+        searchExecutor.execute(() -> {
+            long start = System.currentTimeMillis();
+            index = EmployeeSearchIndex.build(employees);
+            Log.d(TAG, "Indexed " + employees.size() + " employees in " + (System.currentTimeMillis() - start) + "ms");
+        });
+        if (!currentQuery.isEmpty()) {
+            submit(currentQuery);
+        }
+    }
+
+    public void submit(String query) { // main thread
+        currentQuery = query != null ? query : "";
+        final String searchText = currentQuery;
+        final int sequence = latestQuery.incrementAndGet();
+
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false); // not started yet? never run it
+        }
+
+        pendingSearch = searchExecutor.submit(() -> {
+            if (sequence != latestQuery.get() || index == null) {
+                return; // superseded before it started, or nothing indexed yet
+            }
+            List<Employee> results = index.search(searchText);
+            mainHandler.post(() -> {
+                if (sequence == latestQuery.get()) { // a newer query may have arrived meanwhile
+                    listener.onResults(searchText, results);
+                }
+            });
+        });
+    }
+
+    public void cancel() { // drop whatever is queued or in flight
+        latestQuery.incrementAndGet();
+        if (pendingSearch != null) {
+            pendingSearch.cancel(false);
+        }
+    }
+
+    public void shutdown() {
+        cancel();
+        searchExecutor.shutdownNow();
+    }
+}
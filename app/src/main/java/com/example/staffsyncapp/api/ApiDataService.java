@@ -6,25 +6,27 @@ import android.content.Context;
 import android.icu.text.SimpleDateFormat;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
 
 // Volley libraries for making API requests
+import com.android.volley.ParseError;
 import com.android.volley.Request;
 import com.android.volley.RequestQueue;
-import com.android.volley.toolbox.JsonArrayRequest;
 import com.android.volley.toolbox.JsonObjectRequest;
-import com.android.volley.toolbox.Volley;
 import com.example.staffsyncapp.models.Employee;
 import com.example.staffsyncapp.utils.LocalDataService;
 import com.example.staffsyncapp.utils.OfflineSyncManager;
+import com.example.staffsyncapp.utils.ReplayRetryPolicy;
 
 // JSON handling libraries for parsing and creating JSON objects
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.net.InetAddress;
 import java.text.ParseException;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -35,18 +37,28 @@ import java.util.Locale;
  * makes the API requests to different comp2000-server endpoints; GET, POST, PUT, DELETE.
  * using hr lines to separate out the different requests into their own sections
  
- - [X] Get All Employees: GET /employees:
+ - [X] Get All Employees: GET /employees: (conditional GET; 304 reuses the last parsed list)
  - [X] Get Employee by ID: GET /employees/get/<int:id>
- - [X] Add a New Employee: POST /employees/add
+ - [X] Add a New Employee: POST /employees/add (the sent record is applied to the cache; its id arrives with the next list fetch)
  - [X] Update an Employee’s Details: PUT /employees/edit/<int:id>
  - [X] Delete an Employee: DELETE /employees/delete/<int:id>
  - [X] Health Check: GET /health
+ - [X] Batch add/update/delete: mutateEmployees (bounded concurrency, one list refresh at the end)
+
+ * Mutating calls (POST/PUT/DELETE) go out as IdempotentJsonRequest with a client-generated
+ * Idempotency-Key; a failed update/delete is queued offline with that same key, so a request that
+ * actually landed before timing out is recognised as a duplicate when it is replayed.
 
  ---
 
- * These functions use dedicated local worker threads to handle network requests in background;
- * returns data via EmployeeFetchListener callbacks on main thread; they also use
- * Volley's RequestQueue to handle network requests and responses.
+ * These functions use a shared pool of worker threads (ApiExecutor) to handle network requests in background;
+ * user-triggered calls go on the INTERACTIVE lane and sync/replay work on the BACKGROUND lane,
+ * so bulk syncing never holds up a profile save; returns data via EmployeeFetchListener callbacks
+ * on main thread; they also use Volley's RequestQueue to handle network requests and responses.
+ * That queue is shared process-wide (NetworkConfig), and each request gets the timeout/retry
+ * policy of its endpoint class: HEALTH, LIST, ITEM, MUTATION or CREATE.
+ * Responses are negotiated as gzip and inflated in NetworkConfig's stack; add/update bodies
+ * can be gzipped too (NetworkConfig.setCompressRequestBodies).
 
  * Worker Threads:
  * - [X] getAllEmployees
@@ -56,6 +68,9 @@ import java.util.Locale;
  * - [X] deleteEmployee
  * - [X] checkHealth
 
+ * Identical concurrent reads (same URL, no write in between) are coalesced by SingleFlight, so e.g. the
+ * dashboard and the salary increment check only cost one GET /employees between them.
+
  * I subsequently had to make getEmployeeById static because the method is
  * called directly on the class name (ApiDataService.getEmployeeById) rather than 
  * on an instance of the class (apiService.getEmployeeById) this is because in
@@ -67,25 +82,33 @@ public class ApiDataService {
     private static final String TAG = "ApiDataService"; // log tag
     private static final String BASE_URL = "http://10.0.2.2:8000/comp2000";
 
-    private static ApiWorkerThread workerThread;
+    private static ApiExecutor executor; // shared across every ApiDataService instance
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final SingleFlight inFlightReads = new SingleFlight(); // dedupes identical concurrent GETs
+    private static final EmployeeCache employeeCache = new EmployeeCache(); // TTL + LRU cache of fetched employees
+    private static ConditionalGetStore employeeListStore; // ETag/Last-Modified for GET /employees
+    private static final ReachabilityMonitor reachability = new ReachabilityMonitor(BASE_URL + "/health"); // cached /health result
     private OfflineSyncManager offlineSyncManager;
 
     private static RequestQueue queue; 
     private Context context; 
 
-    // set context and initialise Volley request queue
+    // set context and attach to the shared Volley request queue
     public ApiDataService(Context context) {
-        this.context = context;
-        queue = Volley.newRequestQueue(context); // access Volley request queue
-        offlineSyncManager = new OfflineSyncManager(context, new LocalDataService(context).getWritableDatabase(), this); // initialise offline sync manager
-        workerThread = new ApiWorkerThread(); // 1- initialise worker thread
-        workerThread.start(); 
+        this.context = context.getApplicationContext(); // the first instance is kept by the shared offline replayer
+        queue = NetworkConfig.getRequestQueue(this.context); // shared keep-alive queue; see NetworkConfig
+        if (employeeListStore == null) {
+            employeeListStore = new ConditionalGetStore(context, "employees");
+        }
+        offlineSyncManager = new OfflineSyncManager(context, LocalDataService.getInstance(context).getWritableDatabase(), this); // initialise offline sync manager
+        getExecutor(); // 1- make sure the worker pool is running
     }
 
     // various listener interfaces for API requests to handle success and error responses ---
     public interface EmployeeDeleteListener { 
         void onSuccess(String message);
         void onError(String error);
+        default void onQueued(String message) { onError(message); } // API unreachable; saved for offline replay
     }
 
     public interface HealthCallback { 
@@ -93,7 +116,7 @@ public class ApiDataService {
     }
 
     public interface EmployeeAddListener {
-        void onSuccess(String message, int employeeId, String email);
+        void onSuccess(String message, Employee employee); // the created record; id is -1 until the next directory fetch (the API doesn't return it)
         void onError(String error);
     }
 
@@ -105,6 +128,17 @@ public class ApiDataService {
     public interface EmployeeUpdateListener { 
         void onSuccess(String message);
         void onError(String error);
+        default void onQueued(String message) { onError(message); } // API unreachable; saved for offline replay
+    }
+
+    public interface EmployeeBatchListener { // see mutateEmployees; both callbacks run on the main thread
+        void onItemComplete(EmployeeMutation.Result result, int completed, int total);
+        void onComplete(List<EmployeeMutation.Result> results, List<Employee> employees, String refreshError); // employees null if the refresh failed
+    }
+
+    public interface QueuedTaskListener { // offline queue replay; see OfflineQueueReplayer
+        void onSuccess();
+        void onError(String error, boolean retryable);
     }
 
 // --------------------------------------------------------------------------------
@@ -114,58 +148,73 @@ public class ApiDataService {
      * Fetch the employee data from the API and parse it into a list of Employee objects
      */
     public static void getAllEmployees(EmployeeFetchListener listener) {
+        getAllEmployees(ApiExecutor.Lane.INTERACTIVE, listener);
+    }
+
+    public static void getAllEmployees(ApiExecutor.Lane lane, EmployeeFetchListener listener) {
         String url = BASE_URL + "/employees";
         Log.d(TAG, "Attempting to fetch employees from: " + url);
 
-        workerThread.queueTask(() -> {
+        List<Employee> cached = employeeCache.getAll();
+        if (cached != null) { // still fresh; answer asynchronously like a network response would
+            Log.d(TAG, "Serving " + cached.size() + " employees from cache");
+            postToMainThread(() -> listener.onEmployeesFetched(cached));
+            return;
+        }
+
+        long cacheGeneration = employeeCache.getGeneration();
+        String flightKey = SingleFlight.flightKey(url, cacheGeneration); // never joins a read from before the last write
+        SingleFlight.Role role = inFlightReads.join(flightKey, lane, listener);
+        if (role == SingleFlight.Role.FOLLOWER) { // identical read already in flight; share its response
+            return;
+        }
+        EmployeeFetchListener waiters = inFlightReads.listenerFor(flightKey);
+
+        Runnable send = () -> {
+            ApiExecutor.Lane sendLane = inFlightReads.start(flightKey);
+            if (sendLane == null) { // the task on the other lane already sent it
+                return;
+            }
             Log.d(TAG, "getAllEmployees: Worker thread executing: " + Thread.currentThread().getName());
-            JsonArrayRequest request = new JsonArrayRequest(
-                Request.Method.GET,
+            EmployeeListRequest request = new EmployeeListRequest(
                 url,
-                null,
-                response -> {
+                employeeListStore,
+                employees -> {
+                    // already decoded and validated off the main thread by EmployeeListRequest;
+                    // Volley delivers here on the main thread, so no extra postToMainThread hop is needed
                     Log.d(TAG, "getAllEmployees: Response received on thread: " + Thread.currentThread().getName());
-                    workerThread.postToMainThread(() -> {
-                        try {
-                            List<Employee> employees = new ArrayList<>();
-                            Log.d(TAG, "Received response. Employee count: " + response.length());
-    
-                            for (int i = 0; i < response.length(); i++) {
-                                JSONObject employeeObj = response.getJSONObject(i);
-                                
-                                Employee employee = new Employee(
-                                    employeeObj.optInt("id", -1),
-                                    employeeObj.optString("firstname", "N/A"),
-                                    employeeObj.optString("lastname", "N/A"),
-                                    employeeObj.optString("email", "N/A"),
-                                    employeeObj.optString("department", "N/A"),
-                                    employeeObj.optDouble("salary", 0.0),
-                                    employeeObj.optString("joiningdate", "N/A")
-                                );
-                                employees.add(employee);
-                            }
-    
-                            Log.d(TAG, "Successfully parsed " + employees.size() + " employees");
-                            listener.onEmployeesFetched(employees);
-    
-                        } catch (Exception e) {
-                            Log.e(TAG, "Error parsing employee data: " + e.getMessage());
-                            listener.onError("Error parsing data: " + e.getMessage());
-                        }
-                    });
+                    if (employeeListStore != null) {
+                        employeeListStore.rememberParsed(employees);
+                    }
+                    employeeCache.putAll(employees, cacheGeneration);
+                    waiters.onEmployeesFetched(employees);
+                },
+                () -> { // 304 Not Modified; reuse the list parsed last time
+                    List<Employee> employees = employeeListStore.getParsed();
+                    if (employees == null) {
+                        waiters.onError("Failed to fetch employee data");
+                        return;
+                    }
+                    Log.d(TAG, "Employee list not modified; reusing " + employees.size() + " employees");
+                    employeeCache.putAll(employees, cacheGeneration);
+                    waiters.onEmployeesFetched(employees);
                 },
-                error -> workerThread.postToMainThread(() -> {
-                    String errorMsg = error.networkResponse != null ?
+                error -> {
+                    String errorMsg = error instanceof ParseError ?
+                        "Error parsing data: " + error.getMessage() :
+                        error.networkResponse != null ?
                         String.format(Locale.UK, "Network Error (Code %d)", error.networkResponse.statusCode) :
                         "Failed to fetch employee data";
                     Log.e(TAG, errorMsg);
-                    listener.onError(errorMsg);
-                })
+                    waiters.onError(errorMsg);
+                }
             );
     
-            request.setShouldCache(false);
+            NetworkConfig.apply(request, NetworkConfig.Endpoint.LIST, sendLane);
+            inFlightReads.attach(flightKey, request);
             queue.add(request);
-        });
+        };
+        sendRead(role, lane, send, waiters);
     }
 // --------------------------------------------------------------------------------
     /** [X] [X]
@@ -174,68 +223,79 @@ public class ApiDataService {
      * Fetch a particular employee by their ID and parse the data into an Employee object
      */
     public static void getEmployeeById(int id, EmployeeFetchListener listener) {
+        getEmployeeById(id, ApiExecutor.Lane.INTERACTIVE, listener);
+    }
+
+    public static void getEmployeeById(int id, ApiExecutor.Lane lane, EmployeeFetchListener listener) {
         String url = BASE_URL + "/employees/get/" + id;
         Log.d(TAG, "Attempting to fetch employee " + id);
 
-        if (workerThread == null || !workerThread.isAlive()) { // if worker thread is null or dead, create a new one
-            workerThread = new ApiWorkerThread();
-            workerThread.start();
+        Employee cached = employeeCache.get(id);
+        if (cached != null) {
+            List<Employee> employeeList = Collections.singletonList(cached);
+            postToMainThread(() -> listener.onEmployeesFetched(employeeList));
+            return;
+        }
+
+        long cacheGeneration = employeeCache.getGeneration();
+        String flightKey = SingleFlight.flightKey(url, cacheGeneration);
+        SingleFlight.Role role = inFlightReads.join(flightKey, lane, listener);
+        if (role == SingleFlight.Role.FOLLOWER) {
+            return;
         }
+        EmployeeFetchListener waiters = inFlightReads.listenerFor(flightKey);
 
-        workerThread.queueTask(() -> {
+        Runnable send = () -> {
+            ApiExecutor.Lane sendLane = inFlightReads.start(flightKey);
+            if (sendLane == null) {
+                return;
+            }
             Log.d(TAG, "getEmployeeById: Worker thread executing: " + Thread.currentThread().getName());
-            JsonObjectRequest request = new JsonObjectRequest(
-                    Request.Method.GET,
+            EmployeeByIdRequest request = new EmployeeByIdRequest(
                     url,
-                    null,
-                    response -> {
-                        workerThread.postToMainThread(() -> {
-                            Log.d(TAG, "getEmployeeById: Response received on thread: " + Thread.currentThread().getName());
-                            Log.d(TAG, "API response: " + response);
-                            try {
-                                List<Employee> employeeList = new ArrayList<>();
-                                Employee employee = new Employee(
-                                        response.optInt("id", -1),
-                                        response.optString("firstname", "N/A"),
-                                        response.optString("lastname", "N/A"),
-                                        response.optString("email", "N/A"),
-                                        response.optString("department", "N/A"),
-                                        response.optDouble("salary", 0.0),
-                                        response.optString("joiningdate", "N/A")
-                                );
-                                employeeList.add(employee);
-                                listener.onEmployeesFetched(employeeList);
-                            } catch (Exception e) {
-                                Log.e(TAG, "Error parsing employee data: " + e.getMessage());
-                                listener.onError("Error parsing employee data");
-                            }
-                        });
+                    employeeList -> { // decoded off the main thread; delivered here on the main thread
+                        Log.d(TAG, "getEmployeeById: Response received on thread: " + Thread.currentThread().getName());
+                        for (Employee employee : employeeList) {
+                            employeeCache.put(employee, cacheGeneration);
+                        }
+                        waiters.onEmployeesFetched(employeeList);
                     },
-                    error -> workerThread.postToMainThread(() -> {
-                        String errorMsg = error.networkResponse != null ?
+                    error -> {
+                        String errorMsg = error instanceof ParseError ?
+                                "Error parsing employee data" :
+                                error.networkResponse != null ?
                                 String.format(Locale.UK, "Network Error (Code %d)", error.networkResponse.statusCode) :
                                 "Failed to fetch employee data";
                         Log.e(TAG, errorMsg);
-                        listener.onError(errorMsg);
-                    })
+                        waiters.onError(errorMsg);
+                    }
             );
 
-            request.setShouldCache(false);
+            NetworkConfig.apply(request, NetworkConfig.Endpoint.ITEM, sendLane);
+            inFlightReads.attach(flightKey, request);
             queue.add(request);
-        });
+        };
+        sendRead(role, lane, send, waiters);
     }
 // ---------------------------------------------------------------------------------
     /** [X] [X]
      * POST request to add a new employee
      * Endpoint: /employees/add
+     * The created employee is built from the fields we sent (plus an id, if the response has one),
+     * applied to employeeCache and handed to the listener straight away; no list refetch.
+     * The documented API answers with only {"message": ...}, so in production the id is -1 here:
+     * the record shows in the cached list as pending and is replaced by the real one (with its id)
+     * on the next directory fetch, which is also when LocalDataService links any pending login account.
      */
     public void addEmployee(String firstname, String lastname, String email,
-                                String department, double salary, String joiningdate,
-                                final EmployeeAddListener listener) {
+                            String department, double salary, String joiningdate,
+                            final EmployeeAddListener listener) {
         String url = BASE_URL + "/employees/add";
+        String idempotencyKey = IdempotentJsonRequest.newKey(); // one per add; CREATE has no retries until the server dedupes on it
         Log.d(TAG, "Attempting to add new employee: " + firstname + " " + lastname);
+        long startedAt = SystemClock.elapsedRealtime();
 
-        workerThread.queueTask(() -> {
+        queueTask(ApiExecutor.Lane.INTERACTIVE, () -> {
             Log.d(TAG, "addEmployee: Worker thread executing: " + Thread.currentThread().getName());
 
             JSONObject jsonBody = new JSONObject();
@@ -249,54 +309,43 @@ public class ApiDataService {
 
                 Log.d(TAG, "Request body: " + jsonBody.toString());
 
-                JsonObjectRequest request = new JsonObjectRequest( // POST request with JSON body passing raw json for new employee
+                IdempotentJsonRequest request = new IdempotentJsonRequest( // POST request with JSON body passing raw json for new employee
                         Request.Method.POST, 
                         url,
                         jsonBody,
-                        response -> {
-                            Log.d(TAG, "Employee addition successful");
-                            workerThread.postToMainThread(() -> {
-                                getAllEmployees(new EmployeeFetchListener() {
-                                    @Override
-                                    public void onEmployeesFetched(List<Employee> employees) {
-                                        for (Employee emp : employees) {
-                                            if (emp.getEmail().equals(email)) {
-                                                listener.onSuccess("Employee added successfully",
-                                                        emp.getId(), email);
-                                                return;
-                                            }
-                                        }
-                                        listener.onError("Could not verify new employee");
-                                    }
-
-                                    @Override
-                                    public void onError(String error) {
-                                        listener.onError("Error verifying new employee: " + error);
-                                    }
-                                });
-                            });
+                        idempotencyKey,
+                        response -> { // main thread
+                            Employee created = createdEmployee(response, jsonBody);
+                            employeeCache.putCreated(created); // the cached list now includes the new employee
+                            if (created.getId() >= 0) { // otherwise the next directory sync writes the mirror row
+                                LocalDataService.getInstance(context).syncEmployee(created, null);
+                            }
+                            Log.d(TAG, "Employee " + (created.getId() >= 0 ? created.getId() : "(id pending)")
+                                    + " added in " + (SystemClock.elapsedRealtime() - startedAt) + "ms");
+                            listener.onSuccess("Employee added successfully", created);
                         },
-                        error -> workerThread.postToMainThread(() -> {
+                        error -> { // main thread, like the success path; no extra hop
                             String errorMsg = error.networkResponse != null ?
                                     String.format(Locale.UK, "Network Error (Code %d): %s",
                                             error.networkResponse.statusCode,
                                             new String(error.networkResponse.data)) :
                                     "Error adding employee";
-                            Log.e(TAG, errorMsg);
+                            Log.e(TAG, errorMsg + " after " + (SystemClock.elapsedRealtime() - startedAt) + "ms");
                             listener.onError(errorMsg);
-                        })
+                        }
                 );
 
                 request.setShouldCache(false);
-                queue.add(request);
+                request.setCompressBody(true); // only gzipped if NetworkConfig allows it and the body is large enough
+                queue.add(NetworkConfig.apply(request, NetworkConfig.Endpoint.CREATE, ApiExecutor.Lane.INTERACTIVE));
 
             } catch (JSONException e) {
-                workerThread.postToMainThread(() -> {
+                postToMainThread(() -> {
                     Log.e(TAG, "Error creating JSON body: " + e.getMessage());
                     listener.onError("Error creating request");
                 });
             }
-        });
+        }, () -> listener.onError("Too many requests in progress; please try again"));
     }
 // ---------------------------------------------------------------------------------
     /** [X] [X]
@@ -307,9 +356,10 @@ public class ApiDataService {
                                String department, double salary, String joiningdate,
                                EmployeeUpdateListener listener) {
         String url = BASE_URL + "/employees/edit/" + id;
+        String idempotencyKey = IdempotentJsonRequest.newKey(); // kept if the update ends up in the offline queue
         Log.d(TAG, "Attempting to update employee " + id);
 
-        workerThread.queueTask(() -> {
+        queueTask(ApiExecutor.Lane.INTERACTIVE, () -> {
             Log.d(TAG, "updateEmployee: Worker thread executing: " + Thread.currentThread().getName());
 
             try {
@@ -336,39 +386,40 @@ public class ApiDataService {
 
                 Log.d(TAG, "Update request body: " + jsonBody.toString());
 
-                JsonObjectRequest request = new JsonObjectRequest(
+                IdempotentJsonRequest request = new IdempotentJsonRequest(
                         Request.Method.PUT,
                         url,
                         jsonBody,
+                        idempotencyKey,
                         response -> {
                             Log.d(TAG, "Employee update successful");
-                            workerThread.postToMainThread(() -> {
+                            employeeCache.invalidate(id);
+                            postToMainThread(() -> {
                                 listener.onSuccess("Employee updated successfully");
                             });
                         },
                         error -> {
                             // Queue for offline sync first
-                            offlineSyncManager.enqueueTask(jsonBody);
+                            offlineSyncManager.enqueueTask(jsonBody, idempotencyKey); // same key: the PUT may have landed
 
-                            // Then notify via listener if worker thread still exists
-                            if (workerThread != null) {
-                                workerThread.postToMainThread(() -> {
-                                    listener.onError("Update queued for later; API currently unavailable...");
-                                });
-                            }
+                            // Then notify via listener
+                            postToMainThread(() -> {
+                                listener.onQueued("Update queued for later; API currently unavailable...");
+                            });
                         }
                 );
 
                 request.setShouldCache(false);
-                queue.add(request);
+                request.setCompressBody(true); // only gzipped if NetworkConfig allows it and the body is large enough
+                queue.add(NetworkConfig.apply(request, NetworkConfig.Endpoint.MUTATION, ApiExecutor.Lane.INTERACTIVE));
 
             } catch (JSONException e) {
-                workerThread.postToMainThread(() -> {
+                postToMainThread(() -> {
                     Log.e(TAG, "Error creating JSON body: " + e.getMessage());
                     listener.onError("Error creating request: " + e.getMessage());
                 });
             }
-        });
+        }, () -> listener.onError("Too many requests in progress; please try again"));
     }
 // ---------------------------------------------------------------------------------
     /** [X] [X]
@@ -377,22 +428,25 @@ public class ApiDataService {
      */
     public void deleteEmployee(int employeeId, EmployeeDeleteListener listener) {
         String url = BASE_URL + "/employees/delete/" + employeeId;
+        String idempotencyKey = IdempotentJsonRequest.newKey();
         Log.d(TAG, "Attempting to delete employee " + employeeId);
 
-        workerThread.queueTask(() -> {
+        queueTask(ApiExecutor.Lane.INTERACTIVE, () -> {
             Log.d(TAG, "deleteEmployee: Worker thread executing: " + Thread.currentThread().getName());
 
-            JsonObjectRequest request = new JsonObjectRequest(
+            IdempotentJsonRequest request = new IdempotentJsonRequest(
                     Request.Method.DELETE,
                     url,
                     null,
+                    idempotencyKey,
                     response -> {
                         Log.d(TAG, "Employee deletion successful");
-                        workerThread.postToMainThread(() -> {
+                        employeeCache.invalidate(employeeId);
+                        postToMainThread(() -> {
                             listener.onSuccess("Employee deleted successfully");
                         });
                     },
-                    error -> workerThread.postToMainThread(() -> {
+                    error -> postToMainThread(() -> {
                         String errorMsg = error.networkResponse != null ?
                                 String.format("Network Error (Code %d)", error.networkResponse.statusCode) :
                                 "Error deleting employee";
@@ -402,9 +456,9 @@ public class ApiDataService {
                             JSONObject jsonBody = new JSONObject();
                             jsonBody.put("action", "delete_employee");
                             jsonBody.put("id", employeeId);
-                            offlineSyncManager.enqueueTask(jsonBody);
+                            offlineSyncManager.enqueueTask(jsonBody, idempotencyKey);
 
-                            listener.onError(errorMsg + " - Delete queued for later"); // notify UI
+                            listener.onQueued(errorMsg + " - Delete queued for later"); // notify UI
                         } catch (JSONException e) {
                             Log.e(TAG, "Error queuing delete task", e);
                             listener.onError(errorMsg); // notify UI without queuing
@@ -413,8 +467,41 @@ public class ApiDataService {
             );
 
             request.setShouldCache(false);
-            queue.add(request);
-        });
+            queue.add(NetworkConfig.apply(request, NetworkConfig.Endpoint.MUTATION, ApiExecutor.Lane.INTERACTIVE));
+        }, () -> listener.onError("Too many requests in progress; please try again"));
+    }
+// ---------------------------------------------------------------------------------
+    /**
+     * Build the created employee from the add response; accepts the record at the top level or
+     * under "employee", falling back to the fields we sent for anything the server left out
+     * @return the employee, with id -1 if the response didn't include one
+     */
+    private static Employee createdEmployee(JSONObject response, JSONObject sent) {
+        JSONObject source = response != null && response.optJSONObject("employee") != null ?
+                response.optJSONObject("employee") : response;
+        if (source == null) {
+            source = new JSONObject();
+        }
+        int id = source.optInt("id", source.optInt("employee_id", -1));
+        return new Employee(
+                id,
+                source.optString("firstname", sent.optString("firstname")),
+                source.optString("lastname", sent.optString("lastname")),
+                source.optString("email", sent.optString("email")),
+                source.optString("department", sent.optString("department")),
+                source.optDouble("salary", sent.optDouble("salary", 0)),
+                source.optString("joiningdate", sent.optString("joiningdate")));
+    }
+// ---------------------------------------------------------------------------------
+    /**
+     * Batch of adds/updates/deletes, e.g. onboarding or restructuring a department:
+     * - sent with bounded concurrency (EmployeeBatchRunner.MAX_IN_FLIGHT); one failure doesn't stop the rest
+     * - per-item results via onItemComplete, then all of them in onComplete
+     * - the employee list is refreshed ONCE at the end instead of after every add
+     * Must be called on the main thread.
+     */
+    public void mutateEmployees(List<EmployeeMutation> mutations, EmployeeBatchListener listener) {
+        new EmployeeBatchRunner(EmployeeBatchRunner.forApi(this), mutations, listener).start();
     }
 // ---------------------------------------------------------------------------------
     /** [X] [X]
@@ -425,7 +512,7 @@ public class ApiDataService {
         String url = BASE_URL + "/health";
         Log.d(TAG, "Testing API health");
 
-        workerThread.queueTask(() -> {
+        queueTask(ApiExecutor.Lane.INTERACTIVE, () -> {
             Log.d(TAG, "checkHealth: Worker thread executing: " + Thread.currentThread().getName());
 
             JsonObjectRequest request = new JsonObjectRequest(
@@ -434,11 +521,11 @@ public class ApiDataService {
                     null,
                     response -> {
                         Log.d(TAG, "Health check successful");
-                        workerThread.postToMainThread(() -> {
+                        postToMainThread(() -> {
                             callback.onResponse("API is working");
                         });
                     },
-                    error -> workerThread.postToMainThread(() -> {
+                    error -> postToMainThread(() -> {
                         String errorMsg = error.getMessage() != null ?
                                 error.getMessage() : "Cannot connect to comp2000";
                         Log.e(TAG, "Health check failed: " + errorMsg);
@@ -447,89 +534,162 @@ public class ApiDataService {
             );
 
             request.setShouldCache(false);
-            queue.add(request);
-        });
+            queue.add(NetworkConfig.apply(request, NetworkConfig.Endpoint.HEALTH));
+        }, () -> callback.onResponse("Too many requests in progress"));
     }
 // --------------------------------------------------------------------------------
     // OFFLINE-SYNC and HELPER FUNCTIONS
 
-    public void processQueuedTask(JSONObject data) throws JSONException {
-        try {
-            String action = data.getString("action");
-            switch (action) {
-                case "edit_employee":
-                    Log.d(TAG, "Processing queued edit task: " + data);
-                    String url = BASE_URL + "/employees/edit/" + data.getInt("id");
-
-                    // If API isn't reachable, throw exception to keep task in queue
-                    if (!isApiReachable()) {
-                        throw new Exception("API not reachable");
-                    }
+    /**
+     * Replay one task from the offline queue on the BACKGROUND lane
+     * @param data queued JSON; "action" is edit_employee or delete_employee, "id" the employee
+     * @param idempotencyKey the task's persisted key; identical on every replay of the same row
+     * @param listener onSuccess only after a 2xx response (or a 404 for a delete), so the caller can safely
+     *                 drop the row; onError is retryable only for no response, 5xx, 408 and 429;
+     *                 both callbacks run on the main thread
+     */
+    public void processQueuedTask(JSONObject data, String idempotencyKey, QueuedTaskListener listener) {
+        String action = data.optString("action");
+        int employeeId = data.optInt("id", -1);
+
+        final int method;
+        final String url;
+        switch (action) {
+            case "edit_employee":
+                method = Request.Method.PUT;
+                url = BASE_URL + "/employees/edit/" + employeeId;
+                break;
+            case "delete_employee":
+                method = Request.Method.DELETE;
+                url = BASE_URL + "/employees/delete/" + employeeId;
+                break;
+            default:
+                Log.e(TAG, "Unsupported action: " + action);
+                postToMainThread(() -> listener.onError("Unsupported action: " + action, false));
+                return;
+        }
+
+        queueTask(ApiExecutor.Lane.BACKGROUND, () -> {
+            Log.d(TAG, "Processing queued " + action + " task: " + data);
 
-                    // Try to make direct API request first, if error(i.e. API connection unsuccesful) queue task
-                    JsonObjectRequest request = new JsonObjectRequest(
-                            Request.Method.PUT,
-                            url,
-                            data,
-                            response -> {
-                                Log.d(TAG, "Successfully processed queued edit task");
-                            },
-                            error -> {
-                                // throw exception on error to keep task in queue
-                                throw new RuntimeException("Failed to process task: " + error.getMessage());
+            // If API isn't reachable, fail fast to keep task in queue; cached, so a drain costs at most one probe
+            reachability.check(queue, reachable -> {
+                if (!reachable) {
+                    postToMainThread(() -> listener.onError("API not reachable", true));
+                    return;
+                }
+
+                IdempotentJsonRequest request = new IdempotentJsonRequest(
+                        method,
+                        url,
+                        data,
+                        idempotencyKey,
+                        response -> { // Volley only calls this for 2xx
+                            Log.d(TAG, "Successfully processed queued " + action + " task");
+                            reachability.markReachable();
+                            employeeCache.invalidate(employeeId);
+                            listener.onSuccess();
+                        },
+                        error -> {
+                            if (error.networkResponse == null) { // no answer at all; spare the rest of the drain the timeout
+                                reachability.markUnreachable();
+                            }
+                            int status = error.networkResponse != null ? error.networkResponse.statusCode : -1;
+                            if (method == Request.Method.DELETE && status == 404) { // already gone; that's what we wanted
+                                Log.d(TAG, "Queued delete for employee " + employeeId + " found nothing to delete");
+                                employeeCache.invalidate(employeeId);
+                                listener.onSuccess();
+                                return;
                             }
-                    );
+                            String errorMsg = error.networkResponse != null ?
+                                    String.format(Locale.UK, "Network Error (Code %d)", status) :
+                                    "Failed to process task: " + error.getMessage();
+                            // 4xx other than timeout/throttling won't succeed on retry; dead-letter it straight away
+                            boolean retryable = ReplayRetryPolicy.isRetryable(status);
+                            listener.onError(errorMsg, retryable);
+                        }
+                );
 
-                    request.setShouldCache(false);
-                    queue.add(request);
-                    break;
-                case "delete_employee":
-                    Log.d(TAG, "Processing queued delete task: " + data);
-                    String deleteUrl = BASE_URL + "/employees/delete/" + data.getInt("id");
+                request.setShouldCache(false);
+                queue.add(NetworkConfig.apply(request, NetworkConfig.Endpoint.MUTATION, ApiExecutor.Lane.BACKGROUND));
+            });
+        }, () -> listener.onError("Too many requests in progress", true));
+    }
 
-                    if (!isApiReachable()) {
-                        throw new Exception("API not reachable");
-                    }
+    // WORKER POOL HELPERS
 
-                    JsonObjectRequest deleteRequest = new JsonObjectRequest(
-                            Request.Method.DELETE,
-                            deleteUrl,
-                            data,
-                            response -> {
-                                Log.d(TAG, "Successfully processed queued delete task");
-                            },
-                            error -> {
-                                // keep task on queue
-                                throw new RuntimeException("Failed to process task: " + error.getMessage());
-                            }
-                    );
-                    deleteRequest.setShouldCache(false);
-                    queue.add(deleteRequest);
-                    break;
-
-                default:
-                    Log.e(TAG, "Unsupported action: " + action);
-                    break;
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error processing queued task: " + e.getMessage());
-            throw new JSONException(e.getMessage());  // Rethrow to signal failure
+    private static synchronized ApiExecutor getExecutor() { // lazily start the shared pool; it lives as long as the process
+        if (executor == null || !executor.isRunning()) {
+            executor = new ApiExecutor();
         }
+        return executor;
     }
 
-    private boolean isApiReachable() {
-        try {
-            InetAddress address = InetAddress.getByName("10.224.41.11");
-            return address.isReachable(1000);
-        } catch (Exception e) {
-            return false;
+    /**
+     * Queue a task on the given lane of the worker pool;
+     * if the lane is full the rejection is reported on the main thread instead of silently dropping the call
+     * @param lane INTERACTIVE for user-triggered calls, BACKGROUND for sync/replay work
+     * @param task the request to build and enqueue
+     * @param onRejected run on the main thread when the lane is full
+     */
+    private static void queueTask(ApiExecutor.Lane lane, Runnable task, Runnable onRejected) {
+        if (!getExecutor().submit(lane, task)) {
+            postToMainThread(onRejected);
         }
     }
 
-    public void cleanUp() { // shut down all running workerThreads; clean running threads
-        if (workerThread != null) {
-            workerThread.shutdown();
-            workerThread = null; // dereference to free up resources
+    // queue a SingleFlight read; a PROMOTED joiner re-queues the send on INTERACTIVE, the BACKGROUND task is still there
+    private static void sendRead(SingleFlight.Role role, ApiExecutor.Lane lane, Runnable send, EmployeeFetchListener waiters) {
+        if (role == SingleFlight.Role.PROMOTED) {
+            queueTask(ApiExecutor.Lane.INTERACTIVE, send, () -> {}); // rejected: the BACKGROUND task still sends it
+            return;
         }
+        queueTask(lane, send, () -> waiters.onError("Too many requests in progress; please try again"));
+    }
+
+    private static void postToMainThread(Runnable task) {
+        mainHandler.post(task);
+    }
+
+    public static List<ApiExecutor.LaneStats> getExecutorStats() { // per-lane queue depth and wait times
+        return getExecutor().getStats();
+    }
+
+    public static void invalidateEmployeeCache() { // force the next read to go to the API, e.g. manual refresh
+        employeeCache.invalidateAll();
+    }
+
+    public static ReachabilityMonitor getReachability() { // invalidated by OfflineSyncManager on network changes
+        return reachability;
+    }
+
+    public OfflineSyncManager getOfflineSyncManager() {
+        return offlineSyncManager;
+    }
+
+    public static EmployeeCache getEmployeeCache() { // exposes hit/miss counters
+        return employeeCache;
+    }
+
+    public static NetworkConfig.TrafficStats getTrafficStats() { // wire vs decoded bytes; gzip savings
+        return NetworkConfig.getTrafficStats();
+    }
+
+    public static List<NetworkConfig.LatencyStats> getLatencyStats() { // p50/p99 per endpoint class
+        return NetworkConfig.getLatencyStats();
+    }
+
+    public static long getCoalescedReadCount() { // reads served by joining an identical in-flight request
+        return inFlightReads.getCoalescedCount();
+    }
+
+    /**
+     * Detach this instance from the process: stops its network callback. The worker pool, in-flight reads
+     * and the offline replayer are shared by every screen, so they are deliberately left running; shutting
+     * the pool down from a fragment would drop queued tasks without calling their listeners.
+     */
+    public void cleanUp() {
+        offlineSyncManager.stopNetworkMonitoring();
+        Log.d(TAG, "Detached; worker pool stays up: " + getExecutorStats());
     }
 }
@@ -0,0 +1,225 @@
+package com.example.staffsyncapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class ApiExecutor {
+    private static final String TAG = ApiExecutor.class.getSimpleName();
+
+    public static final int DEFAULT_WORKER_COUNT = 3;
+    public static final int DEFAULT_INTERACTIVE_CAPACITY = 32;
+    public static final int DEFAULT_BACKGROUND_CAPACITY = 64;
+
+    /**
+     * Bounded, prioritised pool of worker threads for COMP2000 API requests;
+     * replaces the single ApiWorkerThread so a slow bulk fetch can't hold up a user-triggered save.
+     *
+     * @property lanes: One bounded FIFO per Lane; INTERACTIVE is always drained before BACKGROUND
+     * @property workers: Fixed number of threads pulling from the lanes
+     *
+     * @method submit: Adds a task to a lane; returns false (and counts a rejection) when the lane is full
+     * @method getStats: Snapshot of per-lane queue-depth and wait-time metrics
+     * @method shutdown: Stops workers and drops anything still queued
+     *
+     * @see ApiDataService: Uses this class for API operations
+     * @see NetworkConfig#apply: Carries the lane onto Volley's network queue as the request priority
+     */
+
+    public enum Lane {
+        INTERACTIVE, // user-triggered; profile saves, dashboard loads, add/update/delete
+        BACKGROUND   // periodic sync, offline replay, salary increment checks
+    }
+
+    private final Object lock = new Object();
+    private final LaneQueue[] lanes;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean isRunning;
+
+    public ApiExecutor() {
+        this(DEFAULT_WORKER_COUNT, DEFAULT_INTERACTIVE_CAPACITY, DEFAULT_BACKGROUND_CAPACITY);
+    }
+
+    public ApiExecutor(int workerCount, int interactiveCapacity, int backgroundCapacity) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("workerCount must be at least 1");
+        }
+        lanes = new LaneQueue[]{
+                new LaneQueue(Lane.INTERACTIVE, interactiveCapacity),
+                new LaneQueue(Lane.BACKGROUND, backgroundCapacity)
+        };
+        isRunning = true;
+
+        for (int i = 0; i < workerCount; i++) { // start each worker; named so they show up clearly in logs
+            Thread worker = new Thread(this::runWorker, "ApiExecutor-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Add a task to the given lane if the pool is running and the lane has space;
+     * a full lane is reported back to the caller rather than growing without limit
+     * @param lane which priority lane to queue on
+     * @param task the work to run on a pool thread
+     * @return true if queued, false if rejected
+     */
+    public boolean submit(Lane lane, Runnable task) {
+        if (task == null) {
+            return false;
+        }
+        LaneQueue queue = lanes[lane.ordinal()];
+        synchronized (lock) {
+            if (!isRunning || queue.tasks.size() >= queue.capacity) {
+                queue.rejected++;
+                Log.w(TAG, String.format(Locale.UK, "%s lane rejected task (depth %d/%d, %d rejected so far)",
+                        lane, queue.tasks.size(), queue.capacity, queue.rejected));
+                return false;
+            }
+            queue.tasks.addLast(new TimedTask(task, SystemClock.elapsedRealtime()));
+            queue.submitted++;
+            queue.maxDepth = Math.max(queue.maxDepth, queue.tasks.size());
+            lock.notify();
+        }
+        return true;
+    }
+
+    public boolean isRunning() {
+        return isRunning;
+    }
+
+    public List<LaneStats> getStats() { // snapshot metrics for every lane
+        List<LaneStats> stats = new ArrayList<>();
+        synchronized (lock) {
+            for (LaneQueue queue : lanes) {
+                stats.add(new LaneStats(queue));
+            }
+        }
+        return stats;
+    }
+
+    public LaneStats getStats(Lane lane) {
+        synchronized (lock) {
+            return new LaneStats(lanes[lane.ordinal()]);
+        }
+    }
+
+    // stops every worker and drops queued tasks WITHOUT running them or their rejection callbacks;
+    // ApiDataService's pool is process-wide and never shut down, so this is for standalone pools only
+    public void shutdown() {
+        synchronized (lock) {
+            isRunning = false;
+            for (LaneQueue queue : lanes) {
+                queue.tasks.clear();
+            }
+            lock.notifyAll();
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    // Run a worker: take the highest priority task available, while pool is running and NOT interrupted;
+    private void runWorker() {
+        android.os.Process.setThreadPriority(android.os.Process.THREAD_PRIORITY_BACKGROUND);
+
+        while (isRunning && !Thread.currentThread().isInterrupted()) {
+            TimedTask task;
+            LaneQueue source;
+            try {
+                synchronized (lock) {
+                    while (isRunning && nextNonEmptyLane() == null) {
+                        lock.wait();
+                    }
+                    if (!isRunning) {
+                        break;
+                    }
+                    source = nextNonEmptyLane();
+                    task = source.tasks.pollFirst();
+                    long waited = SystemClock.elapsedRealtime() - task.queuedAt;
+                    source.totalWaitMs += waited;
+                    source.maxWaitMs = Math.max(source.maxWaitMs, waited);
+                    source.started++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            try {
+                task.runnable.run();
+            } catch (RuntimeException e) { // never let one bad task kill a pool thread
+                Log.e(TAG, "Task failed on " + Thread.currentThread().getName(), e);
+            }
+        }
+    }
+
+    private LaneQueue nextNonEmptyLane() { // caller must hold lock; lanes are in priority order
+        for (LaneQueue queue : lanes) {
+            if (!queue.tasks.isEmpty()) {
+                return queue;
+            }
+        }
+        return null;
+    }
+
+    // per-lane bounded FIFO plus its counters; only touched while holding lock
+    private static class LaneQueue {
+        final Lane lane;
+        final int capacity;
+        final ArrayDeque<TimedTask> tasks = new ArrayDeque<>();
+        long submitted;
+        long started;
+        long rejected;
+        int maxDepth;
+        long totalWaitMs;
+        long maxWaitMs;
+
+        LaneQueue(Lane lane, int capacity) {
+            this.lane = lane;
+            this.capacity = capacity;
+        }
+    }
+
+    private static class TimedTask {
+        final Runnable runnable;
+        final long queuedAt;
+
+        TimedTask(Runnable runnable, long queuedAt) {
+            this.runnable = runnable;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    public static class LaneStats {
+        public final Lane lane;
+        public final int depth;
+        public final int capacity;
+        public final int maxDepth;
+        public final long submitted;
+        public final long rejected;
+        public final long averageWaitMs;
+        public final long maxWaitMs;
+
+        LaneStats(LaneQueue queue) {
+            this.lane = queue.lane;
+            this.depth = queue.tasks.size();
+            this.capacity = queue.capacity;
+            this.maxDepth = queue.maxDepth;
+            this.submitted = queue.submitted;
+            this.rejected = queue.rejected;
+            this.averageWaitMs = queue.started > 0 ? queue.totalWaitMs / queue.started : 0;
+            this.maxWaitMs = queue.maxWaitMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.UK, "%s: depth=%d/%d max=%d submitted=%d rejected=%d avgWait=%dms maxWait=%dms",
+                    lane, depth, capacity, maxDepth, submitted, rejected, averageWaitMs, maxWaitMs);
+        }
+    }
+}
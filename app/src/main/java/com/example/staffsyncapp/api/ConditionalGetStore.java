@@ -0,0 +1,132 @@
+package com.example.staffsyncapp.api;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persists the HTTP validators (ETag / Last-Modified) and last body for GET /employees
+ * so the next fetch can be a conditional GET; a 304 reply then skips both transfer and JSON parsing.
+ *
+ * @property prefs: Stores the ETag and Last-Modified values across app restarts
+ * @property bodyFile: Raw body of the last 200 response; only read back if the in-memory list is gone
+ * @property parsed: Employees parsed from that body in this process
+ *
+ * @method getValidatorHeaders: If-None-Match / If-Modified-Since headers, empty if we have nothing to revalidate
+ * @method saveResponse: Records validators and body from a 200 response
+ * @method rememberParsed / getParsed: In-memory list reused on 304
+ *
+ * @see EmployeeListRequest: Sends the headers and handles the 304
+ */
+public class ConditionalGetStore {
+    private static final String TAG = "ConditionalGetStore";
+    private static final String PREFS_NAME = "ApiValidators";
+
+    private final SharedPreferences prefs;
+    private final String key;
+    private final File bodyFile;
+    private volatile List<Employee> parsed;
+
+    public ConditionalGetStore(Context context, String key) {
+        this(context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE),
+                new File(context.getApplicationContext().getCacheDir(), key + ".body"), key);
+    }
+
+    ConditionalGetStore(SharedPreferences prefs, File bodyFile, String key) { // tests: no Context needed
+        this.prefs = prefs;
+        this.key = key;
+        this.bodyFile = bodyFile;
+    }
+
+    public Map<String, String> getValidatorHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        if (!bodyFile.exists()) { // nothing to fall back on if the server says 304
+            return headers;
+        }
+        String etag = prefs.getString(key + "_etag", null);
+        String lastModified = prefs.getString(key + "_last_modified", null);
+        if (etag != null) {
+            headers.put("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            headers.put("If-Modified-Since", lastModified);
+        }
+        return headers;
+    }
+
+    public void saveResponse(Map<String, String> responseHeaders, byte[] body) {
+        String etag = header(responseHeaders, "ETag");
+        String lastModified = header(responseHeaders, "Last-Modified");
+
+        if (etag == null && lastModified == null) { // server can't revalidate; don't bother persisting
+            clear();
+            return;
+        }
+
+        try (FileOutputStream out = new FileOutputStream(bodyFile)) {
+            out.write(body);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to persist response body: " + e.getMessage());
+            clear();
+            return;
+        }
+
+        prefs.edit()
+                .putString(key + "_etag", etag)
+                .putString(key + "_last_modified", lastModified)
+                .apply();
+    }
+
+    public byte[] readBody() { // only needed after a restart, when parsed is empty
+        try (FileInputStream in = new FileInputStream(bodyFile)) {
+            byte[] data = new byte[(int) bodyFile.length()];
+            int read = 0;
+            while (read < data.length) {
+                int n = in.read(data, read, data.length - read);
+                if (n < 0) break;
+                read += n;
+            }
+            return data;
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read persisted response body: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void rememberParsed(List<Employee> employees) { // expects the unmodifiable list from EmployeeRequest
+        parsed = employees;
+    }
+
+    public List<Employee> getParsed() {
+        return parsed;
+    }
+
+    public void clear() {
+        parsed = null;
+        bodyFile.delete();
+        prefs.edit()
+                .remove(key + "_etag")
+                .remove(key + "_last_modified")
+                .apply();
+    }
+
+    private static String header(Map<String, String> headers, String name) { // header names are case-insensitive
+        if (headers == null) return null;
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.staffsyncapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sends one batch of EmployeeMutations for ApiDataService.mutateEmployees.
+ *
+ * - up to MAX_IN_FLIGHT mutations are on the wire at once; the next starts as soon as one finishes
+ * - each mutation reports its own Result; a failure doesn't stop the rest of the batch, and an update
+ *   or delete the API couldn't take is reported as QUEUED (it sits in the offline queue), not FAILED
+ * - adds never refetch the list on their own; once every mutation has finished the employee list
+ *   is fetched exactly ONCE, and any add whose response carried no id is resolved from it by email
+ *
+ * Runs on the main thread: every ApiDataService callback used here is delivered there.
+ * Talks to the API through Target (forApi in production), so the pump/result logic can be driven
+ * by a fake in JVM tests.
+ *
+ * @see ApiDataService#mutateEmployees
+ */
+class EmployeeBatchRunner {
+    private static final String TAG = "EmployeeBatchRunner";
+
+    static final int MAX_IN_FLIGHT = NetworkConfig.DEFAULT_NETWORK_THREADS; // more would only wait inside Volley
+
+    /** The ApiDataService calls a batch makes */
+    interface Target {
+        void add(EmployeeMutation mutation, ApiDataService.EmployeeAddListener listener);
+        void update(EmployeeMutation mutation, ApiDataService.EmployeeUpdateListener listener);
+        void delete(EmployeeMutation mutation, ApiDataService.EmployeeDeleteListener listener);
+        void refresh(ApiDataService.EmployeeFetchListener listener); // the list as of now, never an older in-flight read
+    }
+
+    static Target forApi(ApiDataService api) {
+        return new Target() {
+            @Override
+            public void add(EmployeeMutation m, ApiDataService.EmployeeAddListener listener) {
+                api.addEmployee(m.firstname, m.lastname, m.email, m.department, m.salary, m.joiningdate, listener);
+            }
+
+            @Override
+            public void update(EmployeeMutation m, ApiDataService.EmployeeUpdateListener listener) {
+                api.updateEmployee(m.id, m.firstname, m.lastname, m.email, m.department, m.salary, m.joiningdate, listener);
+            }
+
+            @Override
+            public void delete(EmployeeMutation m, ApiDataService.EmployeeDeleteListener listener) {
+                api.deleteEmployee(m.id, listener);
+            }
+
+            @Override
+            public void refresh(ApiDataService.EmployeeFetchListener listener) {
+                // bumps the cache generation, so the read below starts its own flight (see SingleFlight)
+                // instead of joining a GET that left before the batch's writes landed
+                ApiDataService.invalidateEmployeeCache();
+                ApiDataService.getAllEmployees(listener);
+            }
+        };
+    }
+
+    private final Target api;
+    private final List<EmployeeMutation> mutations;
+    private final ApiDataService.EmployeeBatchListener listener;
+    private final EmployeeMutation.Result[] results;
+
+    private int next = 0;
+    private int inFlight = 0;
+    private int completed = 0;
+    private boolean finished = false;
+    private long startedAt;
+
+    EmployeeBatchRunner(Target api, List<EmployeeMutation> mutations, ApiDataService.EmployeeBatchListener listener) {
+        this.api = api;
+        this.mutations = new ArrayList<>(mutations);
+        this.listener = listener;
+        this.results = new EmployeeMutation.Result[this.mutations.size()];
+    }
+
+    void start() {
+        startedAt = SystemClock.elapsedRealtime();
+        Log.d(TAG, "Starting batch of " + mutations.size() + " mutations");
+        pump();
+    }
+
+    private void pump() {
+        while (inFlight < MAX_IN_FLIGHT && next < mutations.size()) {
+            int index = next++;
+            inFlight++;
+            send(index, mutations.get(index));
+        }
+        if (completed == mutations.size() && !finished) {
+            finished = true;
+            refreshOnce();
+        }
+    }
+
+    private void send(int index, EmployeeMutation mutation) {
+        switch (mutation.type) {
+            case ADD:
+                api.add(mutation, new ApiDataService.EmployeeAddListener() {
+                            @Override
+                            public void onSuccess(String message, Employee employee) {
+                                complete(index, EmployeeMutation.Result.Status.SUCCESS, message, employee.getId()); // -1 = resolved after the refresh
+                            }
+
+                            @Override
+                            public void onError(String error) {
+                                complete(index, EmployeeMutation.Result.Status.FAILED, error, -1);
+                            }
+                        });
+                break;
+            case UPDATE:
+                api.update(mutation, new ApiDataService.EmployeeUpdateListener() {
+                            @Override
+                            public void onSuccess(String message) {
+                                complete(index, EmployeeMutation.Result.Status.SUCCESS, message, mutation.id);
+                            }
+
+                            @Override
+                            public void onQueued(String message) {
+                                complete(index, EmployeeMutation.Result.Status.QUEUED, message, mutation.id);
+                            }
+
+                            @Override
+                            public void onError(String error) {
+                                complete(index, EmployeeMutation.Result.Status.FAILED, error, mutation.id);
+                            }
+                        });
+                break;
+            case DELETE:
+                api.delete(mutation, new ApiDataService.EmployeeDeleteListener() {
+                    @Override
+                    public void onSuccess(String message) {
+                        complete(index, EmployeeMutation.Result.Status.SUCCESS, message, mutation.id);
+                    }
+
+                    @Override
+                    public void onQueued(String message) {
+                        complete(index, EmployeeMutation.Result.Status.QUEUED, message, mutation.id);
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        complete(index, EmployeeMutation.Result.Status.FAILED, error, mutation.id);
+                    }
+                });
+                break;
+        }
+    }
+
+    private void complete(int index, EmployeeMutation.Result.Status status, String message, int employeeId) {
+        EmployeeMutation.Result result = new EmployeeMutation.Result(index, mutations.get(index), status, message, employeeId);
+        results[index] = result;
+        inFlight--;
+        completed++;
+        listener.onItemComplete(result, completed, mutations.size());
+        pump();
+    }
+
+    private void refreshOnce() {
+        long mutateMs = SystemClock.elapsedRealtime() - startedAt;
+        api.refresh(new ApiDataService.EmployeeFetchListener() { // the list snapshot predates the whole batch
+            @Override
+            public void onEmployeesFetched(List<Employee> employees) {
+                resolveAddedIds(employees);
+                Log.d(TAG, "Batch of " + mutations.size() + " done in " + mutateMs + "ms + one refresh in "
+                        + (SystemClock.elapsedRealtime() - startedAt - mutateMs) + "ms");
+                listener.onComplete(resultList(), employees, null);
+            }
+
+            @Override
+            public void onError(String error) {
+                Log.e(TAG, "Batch finished but the list refresh failed: " + error);
+                listener.onComplete(resultList(), null, error);
+            }
+        });
+    }
+
+    private void resolveAddedIds(List<Employee> employees) {
+        for (int i = 0; i < results.length; i++) {
+            EmployeeMutation.Result result = results[i];
+            // only adds the API accepted; a FAILED add may share its email with an existing employee
+            if (result.status != EmployeeMutation.Result.Status.SUCCESS
+                    || result.mutation.type != EmployeeMutation.Type.ADD || result.employeeId >= 0) {
+                continue;
+            }
+            for (Employee employee : employees) {
+                if (result.mutation.email.equals(employee.getEmail())) {
+                    results[i] = new EmployeeMutation.Result(i, result.mutation, result.status, result.message, employee.getId());
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<EmployeeMutation.Result> resultList() {
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.staffsyncapp.api;
+
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.example.staffsyncapp.models.Employee;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GET /employees/get/<int:id> request; parses the single employee object off the main thread
+ * and delivers it as a one-element list, matching EmployeeFetchListener.
+ *
+ * @see EmployeeRequest: Shared decode/validate stage
+ */
+public class EmployeeByIdRequest extends EmployeeRequest {
+
+    public EmployeeByIdRequest(String url,
+                               Response.Listener<List<Employee>> listener,
+                               Response.ErrorListener errorListener) {
+        super(Request.Method.GET, url, listener, errorListener);
+    }
+
+    @Override
+    protected List<Employee> parse(byte[] body, Charset charset) throws IOException {
+        return Collections.singletonList(EmployeeJsonParser.parseObject(body, charset));
+    }
+}
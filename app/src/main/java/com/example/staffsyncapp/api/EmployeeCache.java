@@ -0,0 +1,206 @@
+package com.example.staffsyncapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide in-memory cache of COMP2000 employees so repeated screen loads skip the network.
+ *
+ * @property byId: LRU map of id -> Employee from single-employee fetches, capped at maxEntries
+ * @property listSnapshot: Last full GET /employees result, served while younger than ttlMs
+ * @property listById: Index over listSnapshot so get(id) can answer from it; lives and dies with the snapshot,
+ *           so a directory fetch never evicts the by-id entries
+ * @property generation: Bumped on every invalidation; a fetch started before a write can't repopulate stale data
+ *
+ * @method getAll / get: Return the cached (unmodifiable) value or null on miss/expiry (counted as hit/miss)
+ * @method putAll / put: Store fetched data if no invalidation happened since the fetch started
+ * @method putCreated: Apply a newly added employee without refetching the list
+ * @method invalidate / invalidateAll: Drop entries after update/delete succeed
+ *
+ * @see ApiDataService: Reads through this before hitting the API
+ */
+public class EmployeeCache {
+    private static final String TAG = "EmployeeCache";
+
+    public static final long DEFAULT_TTL_MS = 60 * 1000; // 1 minute
+    public static final int DEFAULT_MAX_ENTRIES = 500;
+
+    private final long ttlMs;
+    private final int maxEntries;
+
+    private final LinkedHashMap<Integer, Entry> byId;
+    private List<Employee> listSnapshot;
+    private Map<Integer, Employee> listById;
+    private long listCachedAt;
+    private long generation = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    public EmployeeCache() {
+        this(DEFAULT_TTL_MS, DEFAULT_MAX_ENTRIES);
+    }
+
+    public EmployeeCache(long ttlMs, int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        this.byId = new LinkedHashMap<Integer, Entry>(16, 0.75f, true) { // access-order = LRU
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                if (size() > EmployeeCache.this.maxEntries) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // READS ---
+
+    public synchronized List<Employee> getAll() { // unmodifiable list snapshot, or null if missing/expired
+        if (listSnapshot != null && !isExpired(listCachedAt)) {
+            hits++;
+            return listSnapshot;
+        }
+        dropList();
+        misses++;
+        return null;
+    }
+
+    public synchronized Employee get(int id) {
+        Entry entry = byId.get(id);
+        if (entry != null && !isExpired(entry.cachedAt)) {
+            hits++;
+            return entry.employee;
+        }
+        if (entry != null) {
+            byId.remove(id);
+        }
+        if (listSnapshot != null && !isExpired(listCachedAt)) { // not fetched on its own, but in the directory
+            Employee employee = listById.get(id);
+            if (employee != null) {
+                hits++;
+                return employee;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    // WRITES ---
+
+    public synchronized long getGeneration() { // capture before a fetch, pass back into put/putAll
+        return generation;
+    }
+
+    public synchronized void putAll(List<Employee> employees, long fetchGeneration) {
+        if (fetchGeneration != generation) {
+            Log.d(TAG, "Discarding employee list fetched before an invalidation");
+            return;
+        }
+        setList(new ArrayList<>(employees));
+        listCachedAt = SystemClock.elapsedRealtime();
+    }
+
+    public synchronized void put(Employee employee, long fetchGeneration) {
+        if (fetchGeneration != generation) {
+            return;
+        }
+        byId.put(employee.getId(), new Entry(employee, SystemClock.elapsedRealtime()));
+    }
+
+    /**
+     * Apply an employee the API just created, instead of dropping the whole cache:
+     * cached by id, and appended to the list snapshot if one is still fresh.
+     * An id of -1 (the API didn't return one) is list-only, and is replaced when the list is next fetched.
+     * Bumps the generation so a list fetched before the add can't overwrite it.
+     */
+    public synchronized void putCreated(Employee employee) {
+        generation++;
+        boolean pending = employee.getId() < 0;
+        if (!pending) {
+            byId.put(employee.getId(), new Entry(employee, SystemClock.elapsedRealtime()));
+        }
+        if (listSnapshot != null && !isExpired(listCachedAt)) {
+            List<Employee> updated = new ArrayList<>(listSnapshot.size() + 1);
+            for (Employee existing : listSnapshot) {
+                boolean same = pending
+                        ? existing.getId() < 0 && existing.getEmail().equals(employee.getEmail())
+                        : existing.getId() == employee.getId();
+                if (!same) {
+                    updated.add(existing);
+                }
+            }
+            updated.add(employee);
+            setList(updated);
+        } else {
+            dropList();
+        }
+    }
+
+    public synchronized void invalidate(int id) { // a single employee changed; list snapshot is stale too
+        generation++;
+        byId.remove(id);
+        dropList();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        byId.clear();
+        dropList();
+    }
+
+    // STATS ---
+
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.UK, "EmployeeCache: hits=%d misses=%d evictions=%d entries=%d/%d list=%s",
+                hits, misses, evictions, byId.size(), maxEntries, listSnapshot != null ? "cached" : "empty");
+    }
+
+    private void setList(List<Employee> employees) { // caller holds the lock; keeps listCachedAt
+        Map<Integer, Employee> index = new HashMap<>(employees.size() * 2);
+        for (Employee employee : employees) {
+            if (employee.getId() >= 0) { // pending adds aren't addressable by id yet
+                index.put(employee.getId(), employee);
+            }
+        }
+        listSnapshot = Collections.unmodifiableList(employees);
+        listById = index;
+    }
+
+    private void dropList() {
+        listSnapshot = null;
+        listById = null;
+    }
+
+    private boolean isExpired(long cachedAt) {
+        return SystemClock.elapsedRealtime() - cachedAt > ttlMs;
+    }
+
+    private static class Entry {
+        final Employee employee;
+        final long cachedAt;
+
+        Entry(Employee employee, long cachedAt) {
+            this.employee = employee;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.staffsyncapp.api;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-based parser for COMP2000 employee JSON;
+ * reads Employee objects one at a time from the response bytes, without building an
+ * intermediate String, JSONArray or JSONObject tree. It is not streaming from the socket:
+ * Volley has already buffered the whole body into a byte[] (and ConditionalGetStore keeps a
+ * copy), so what this saves is the decoded String and the org.json tree, not the body itself.
+ *
+ * Defaults match the old optInt/optString/optDouble calls: id -1, "N/A" strings, 0.0 salary,
+ * and a JSON null string comes back as "null" like org.json does (updateEmployee relies on that).
+ *
+ * @see EmployeeListRequest: Parses GET /employees with this on Volley's network thread
+ */
+public final class EmployeeJsonParser {
+
+    private EmployeeJsonParser() {} // static helpers only
+
+    public static List<Employee> parseList(byte[] body, Charset charset) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), charset))) {
+            return readList(reader);
+        }
+    }
+
+    public static Employee parseObject(byte[] body, Charset charset) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), charset))) {
+            return readEmployee(reader);
+        }
+    }
+
+    public static List<Employee> readList(JsonReader reader) throws IOException {
+        List<Employee> employees = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+                employees.add(readEmployee(reader));
+            } else {
+                reader.skipValue(); // ignore anything that isn't an employee object
+            }
+        }
+        reader.endArray();
+        return employees;
+    }
+
+    public static Employee readEmployee(JsonReader reader) throws IOException {
+        int id = -1;
+        String firstname = "N/A";
+        String lastname = "N/A";
+        String email = "N/A";
+        String department = "N/A";
+        double salary = 0.0;
+        String joiningdate = "N/A";
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = (int) readDouble(reader, -1);
+                    break;
+                case "firstname":
+                    firstname = readString(reader, firstname);
+                    break;
+                case "lastname":
+                    lastname = readString(reader, lastname);
+                    break;
+                case "email":
+                    email = readString(reader, email);
+                    break;
+                case "department":
+                    department = readString(reader, department);
+                    break;
+                case "salary":
+                    salary = readDouble(reader, 0.0);
+                    break;
+                case "joiningdate":
+                    joiningdate = readString(reader, joiningdate);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return new Employee(id, firstname, lastname, email, department, salary, joiningdate);
+    }
+
+    private static String readString(JsonReader reader, String fallback) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.STRING || token == JsonToken.NUMBER) {
+            return reader.nextString();
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return String.valueOf(reader.nextBoolean());
+        }
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return "null";
+        }
+        reader.skipValue();
+        return fallback;
+    }
+
+    private static double readDouble(JsonReader reader, double fallback) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NUMBER || token == JsonToken.STRING) {
+            String raw = reader.nextString(); // consume first so a bad value can't leave the reader stuck
+            try {
+                return Double.parseDouble(raw);
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+        reader.skipValue();
+        return fallback;
+    }
+}
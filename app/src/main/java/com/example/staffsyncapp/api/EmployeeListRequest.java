@@ -0,0 +1,90 @@
+package com.example.staffsyncapp.api;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.example.staffsyncapp.models.Employee;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /employees request that parses the body directly into Employee objects and
+ * revalidates with the server instead of always re-downloading.
+ *
+ * - parsing goes through EmployeeRequest's decode stage on Volley's network thread, using the
+ *   token-based EmployeeJsonParser, so no intermediate String/JSONArray/JSONObject tree is built;
+ *   the body itself is still fully buffered by Volley and persisted by ConditionalGetStore
+ * - sends If-None-Match / If-Modified-Since from ConditionalGetStore and, on 304 Not Modified,
+ *   calls onNotModified so the caller can reuse the list it already parsed
+ *
+ * @see ConditionalGetStore: Persists the validators and last body
+ * @see ApiDataService#getAllEmployees: Uses this request
+ */
+public class EmployeeListRequest extends EmployeeRequest {
+    private final ConditionalGetStore store;
+    private final Runnable onNotModified;
+
+    public EmployeeListRequest(String url, ConditionalGetStore store,
+                               Response.Listener<List<Employee>> listener,
+                               Runnable onNotModified,
+                               Response.ErrorListener errorListener) {
+        super(Request.Method.GET, url, listener, errorListener);
+        this.store = store;
+        this.onNotModified = onNotModified;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() throws AuthFailureError {
+        Map<String, String> headers = super.getHeaders();
+        if (store != null) {
+            headers.putAll(store.getValidatorHeaders());
+        }
+        return headers;
+    }
+
+    @Override
+    protected List<Employee> parse(byte[] body, Charset charset) throws IOException {
+        return EmployeeJsonParser.parseList(body, charset);
+    }
+
+    @Override
+    protected Response<List<Employee>> parseNetworkResponse(NetworkResponse response) {
+        if (store == null) {
+            return super.parseNetworkResponse(response);
+        }
+
+        if (response.notModified || response.statusCode == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            if (store.getParsed() != null) {
+                return Response.success(null, null); // null result = "reuse what you have"; see deliverResponse
+            }
+            // first fetch since a restart; fall back to the persisted body
+            byte[] body = store.readBody();
+            if (body == null) {
+                store.clear();
+                return Response.error(new ParseError(new IllegalStateException("304 without a stored body")));
+            }
+            return decode(response, body);
+        }
+
+        Response<List<Employee>> parsed = super.parseNetworkResponse(response);
+        if (parsed.isSuccess()) {
+            store.saveResponse(response.headers, response.data);
+        }
+        return parsed;
+    }
+
+    @Override
+    protected void deliverResponse(List<Employee> response) {
+        if (response == null) {
+            onNotModified.run();
+            return;
+        }
+        super.deliverResponse(response);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.staffsyncapp.api;
+
+import java.util.Locale;
+
+/**
+ * One add/update/delete in a batch sent through ApiDataService.mutateEmployees.
+ *
+ * @property type: ADD, UPDATE or DELETE
+ * @property id: Target employee for UPDATE/DELETE; ignored for ADD
+ * @property firstname..joiningdate: Employee fields for ADD/UPDATE; all required (non-null), as with updateEmployee
+ *
+ * @method add / update / delete: Factories; use these rather than filling fields by hand
+ *
+ * @see ApiDataService#mutateEmployees
+ * @see EmployeeBatchRunner: Sends a batch with bounded concurrency
+ */
+public class EmployeeMutation {
+    public enum Type { ADD, UPDATE, DELETE }
+
+    public final Type type;
+    public final int id;
+    public final String firstname;
+    public final String lastname;
+    public final String email;
+    public final String department;
+    public final double salary;
+    public final String joiningdate;
+
+    private EmployeeMutation(Type type, int id, String firstname, String lastname, String email,
+                             String department, double salary, String joiningdate) {
+        this.type = type;
+        this.id = id;
+        this.firstname = firstname;
+        this.lastname = lastname;
+        this.email = email;
+        this.department = department;
+        this.salary = salary;
+        this.joiningdate = joiningdate;
+    }
+
+    public static EmployeeMutation add(String firstname, String lastname, String email,
+                                       String department, double salary, String joiningdate) {
+        return new EmployeeMutation(Type.ADD, -1, firstname, lastname, email, department, salary, joiningdate);
+    }
+
+    public static EmployeeMutation update(int id, String firstname, String lastname, String email,
+                                          String department, double salary, String joiningdate) {
+        return new EmployeeMutation(Type.UPDATE, id, firstname, lastname, email, department, salary, joiningdate);
+    }
+
+    public static EmployeeMutation delete(int id) {
+        return new EmployeeMutation(Type.DELETE, id, null, null, null, null, 0, null);
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.ADD ?
+                String.format(Locale.UK, "ADD %s %s <%s>", firstname, lastname, email) :
+                String.format(Locale.UK, "%s #%d", type, id);
+    }
+
+    /**
+     * Outcome of one mutation in a batch
+     * @property index: Position of the mutation in the submitted list
+     * @property status: SUCCESS, QUEUED (API unreachable; saved to the offline queue and replayed later) or FAILED
+     * @property success: status == SUCCESS
+     * @property employeeId: Affected employee; for ADD it is filled in from the final list refresh (-1 if not found)
+     */
+    public static class Result {
+        public enum Status { SUCCESS, QUEUED, FAILED }
+
+        public final int index;
+        public final EmployeeMutation mutation;
+        public final Status status;
+        public final boolean success;
+        public final String message;
+        public final int employeeId;
+
+        Result(int index, EmployeeMutation mutation, Status status, String message, int employeeId) {
+            this.index = index;
+            this.mutation = mutation;
+            this.status = status;
+            this.success = status == Status.SUCCESS;
+            this.message = message;
+            this.employeeId = employeeId;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.UK, "[%d] %s: %s (%s)", index, mutation, status.name().toLowerCase(Locale.UK), message);
+        }
+    }
+}
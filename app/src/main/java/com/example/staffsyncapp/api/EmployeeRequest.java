@@ -0,0 +1,117 @@
+package com.example.staffsyncapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.NetworkResponse;
+import com.android.volley.ParseError;
+import com.android.volley.Request;
+import com.android.volley.Response;
+import com.android.volley.toolbox.HttpHeaderParser;
+import com.example.staffsyncapp.models.Employee;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base Volley request for COMP2000 employee reads; the response-processing stage.
+ *
+ * - decode, validate and build the Employee list inside parseNetworkResponse, which Volley runs
+ *   on its network thread, so the UI thread never parses JSON or constructs Employees
+ * - drops records with no id rather than handing half-built Employees to the UI
+ * - delivers a finished, unmodifiable list; listeners can share it without copying
+ *
+ * @see EmployeeListRequest: GET /employees
+ * @see EmployeeByIdRequest: GET /employees/get/<int:id>
+ */
+public abstract class EmployeeRequest extends Request<List<Employee>> implements NetworkConfig.Prioritized {
+    private static final String TAG = "EmployeeRequest";
+
+    private final Object lock = new Object();
+    private Response.Listener<List<Employee>> listener; // guarded by lock; cleared on cancel
+    private Priority priority = Priority.NORMAL; // set from the ApiExecutor lane by NetworkConfig.apply
+
+    protected EmployeeRequest(int method, String url,
+                              Response.Listener<List<Employee>> listener,
+                              Response.ErrorListener errorListener) {
+        super(method, url, errorListener);
+        this.listener = listener;
+        setShouldCache(false);
+    }
+
+    // turn the raw body into Employees; runs on the network thread
+    protected abstract List<Employee> parse(byte[] body, Charset charset) throws IOException;
+
+    @Override
+    public Map<String, String> getHeaders() throws AuthFailureError {
+        Map<String, String> headers = new HashMap<>(super.getHeaders());
+        headers.put("Accept", "application/json");
+        return headers;
+    }
+
+    @Override
+    public void setPriority(Priority priority) { // before queueing
+        this.priority = priority;
+    }
+
+    @Override
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    protected Response<List<Employee>> parseNetworkResponse(NetworkResponse response) {
+        return decode(response, response.data);
+    }
+
+    protected Response<List<Employee>> decode(NetworkResponse response, byte[] body) {
+        long start = SystemClock.elapsedRealtime();
+        try {
+            Charset charset = Charset.forName(HttpHeaderParser.parseCharset(response.headers, "utf-8"));
+            List<Employee> employees = validate(parse(body, charset));
+            Log.d(TAG, "Decoded " + employees.size() + " employees in "
+                    + (SystemClock.elapsedRealtime() - start) + "ms on " + Thread.currentThread().getName());
+            return Response.success(employees, null);
+        } catch (IOException | RuntimeException e) {
+            return Response.error(new ParseError(e));
+        }
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        synchronized (lock) {
+            listener = null;
+        }
+    }
+
+    @Override
+    protected void deliverResponse(List<Employee> response) {
+        Response.Listener<List<Employee>> current;
+        synchronized (lock) {
+            current = listener;
+        }
+        if (current != null) {
+            current.onResponse(response);
+        }
+    }
+
+    private static List<Employee> validate(List<Employee> parsed) {
+        List<Employee> valid = new ArrayList<>(parsed.size());
+        for (Employee employee : parsed) {
+            if (employee.getId() >= 0) {
+                valid.add(employee);
+            }
+        }
+        if (valid.size() != parsed.size()) {
+            Log.w(TAG, "Dropped " + (parsed.size() - valid.size()) + " employee records without an id");
+        }
+        return Collections.unmodifiableList(valid);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.staffsyncapp.api;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.Response;
+import com.android.volley.toolbox.JsonObjectRequest;
+
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JsonObjectRequest for mutating COMP2000 calls (POST/PUT/DELETE) that carries an Idempotency-Key header,
+ * so a server can recognise a re-sent request (Volley retry after a timeout, offline queue replay)
+ * and answer it without applying the change twice. The COMP2000 API doesn't dedupe on it yet; that
+ * server change has to land before retries are raised for POST add (NetworkConfig.Endpoint.CREATE).
+ *
+ * The key belongs to the logical operation, not the HTTP attempt: Volley retries re-send this same
+ * object, and a task queued offline stores its key in offline_request_queue.idempotency_key so
+ * every replay re-uses it.
+ *
+ * When setCompressBody(true) is used (and NetworkConfig allows it), the JSON body is gzipped and sent
+ * with Content-Encoding: gzip; the decision is made once so headers, body and retries stay consistent.
+ *
+ * @see ApiDataService: addEmployee, updateEmployee, deleteEmployee and processQueuedTask
+ */
+public class IdempotentJsonRequest extends JsonObjectRequest implements NetworkConfig.Prioritized {
+    public static final String HEADER = "Idempotency-Key";
+
+    private final String idempotencyKey;
+    private boolean compressBody = false;
+    private boolean bodyPrepared = false;
+    private byte[] compressedBody; // null = send the plain body
+    private Priority priority = Priority.NORMAL; // set from the ApiExecutor lane by NetworkConfig.apply
+
+    public IdempotentJsonRequest(int method, String url, JSONObject body, String idempotencyKey,
+                                 Response.Listener<JSONObject> listener,
+                                 Response.ErrorListener errorListener) {
+        super(method, url, body, listener, errorListener);
+        this.idempotencyKey = idempotencyKey;
+        setShouldCache(false);
+    }
+
+    public static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public IdempotentJsonRequest setCompressBody(boolean compressBody) { // POST/PUT only; before queueing
+        this.compressBody = compressBody;
+        return this;
+    }
+
+    @Override
+    public void setPriority(Priority priority) { // before queueing
+        this.priority = priority;
+    }
+
+    @Override
+    public Priority getPriority() {
+        return priority;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() throws AuthFailureError {
+        Map<String, String> headers = new HashMap<>(super.getHeaders());
+        headers.put(HEADER, idempotencyKey);
+        if (prepareBody() != null) {
+            headers.put("Content-Encoding", "gzip");
+        }
+        return headers;
+    }
+
+    @Override
+    public byte[] getBody() {
+        byte[] compressed = prepareBody();
+        return compressed != null ? compressed : super.getBody();
+    }
+
+    private synchronized byte[] prepareBody() { // decided once; Volley may ask on every retry
+        if (!bodyPrepared) {
+            bodyPrepared = true;
+            compressedBody = NetworkConfig.maybeCompress(super.getBody(), compressBody);
+        }
+        return compressedBody;
+    }
+}
@@ -0,0 +1,380 @@
+package com.example.staffsyncapp.api;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.android.volley.AuthFailureError;
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.Header;
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.BasicNetwork;
+import com.android.volley.toolbox.DiskBasedCache;
+import com.android.volley.toolbox.HttpResponse;
+import com.android.volley.toolbox.HurlStack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Network configuration layer for the COMP2000 API; replaces Volley.newRequestQueue(context) defaults
+ * (a new queue per ApiDataService, 2.5s timeout and one retry for everything).
+ *
+ * - ONE process-wide RequestQueue on a HurlStack; HttpURLConnection keeps connections alive and
+ *   pools them (http.maxConnections is matched to the dispatcher count), so back-to-back calls
+ *   to the same host skip the TCP handshake
+ * - network dispatcher thread count is configurable (setNetworkThreadCount, before first use)
+ * - every request is tagged with an Endpoint class that picks its timeout/retry policy
+ * - per-class latency (queued -> finished, retries included) is sampled for p50/p99
+ * - every request sends Accept-Encoding: gzip and gzip responses are inflated in the stack, so
+ *   requests and parsers only ever see plain bytes; POST/PUT bodies can optionally be gzipped too
+ * - bytes are counted on the wire and decoded, so the bandwidth saved is visible
+ *
+ * @method getRequestQueue: Shared queue, started on first use
+ * @method apply: Attach an Endpoint's retry policy and tag to a request before queueing it; the lane
+ *         overload also sets the Volley priority, so INTERACTIVE requests jump queued BACKGROUND ones
+ * @method getLatencyStats: p50/p99 per endpoint class over the last LATENCY_SAMPLES requests
+ * @method setCompressRequestBodies: Opt in to gzip POST/PUT bodies (the server must accept Content-Encoding: gzip)
+ * @method getTrafficStats: Byte counters since process start
+ *
+ * @see ApiDataService: Every request goes through apply + the shared queue
+ */
+public class NetworkConfig {
+    private static final String TAG = "NetworkConfig";
+
+    public static final int DEFAULT_NETWORK_THREADS = 4; // Volley's default pool size
+    private static final int DISK_CACHE_BYTES = 1024 * 1024; // API reads are setShouldCache(false); small is enough
+    private static final int LATENCY_SAMPLES = 200;
+    private static final int MIN_COMPRESS_BYTES = 512; // below this gzip's ~20 byte overhead eats the saving
+
+    /**
+     * Timeout/retry policy per class of endpoint:
+     * - HEALTH: a probe must answer fast or not at all, so no retries
+     * - LIST: GET /employees returns the whole directory; give it time
+     * - ITEM: single-employee reads
+     * - MUTATION: edit/delete; a repeated PUT sets the same fields and a repeated DELETE finds nothing, so retries are harmless
+     * - CREATE: POST /employees/add; the server doesn't dedupe on Idempotency-Key yet, so a retry after a
+     *   lost response would add the employee twice; no retries until it does
+     */
+    public enum Endpoint {
+        HEALTH(1500, 0, 1f),
+        LIST(10000, 1, 1.5f),
+        ITEM(5000, 1, 1.5f),
+        MUTATION(7500, 2, 1.5f),
+        CREATE(7500, 0, 1f);
+
+        final int timeoutMs;
+        final int maxRetries;
+        final float backoffMultiplier;
+
+        Endpoint(int timeoutMs, int maxRetries, float backoffMultiplier) {
+            this.timeoutMs = timeoutMs;
+            this.maxRetries = maxRetries;
+            this.backoffMultiplier = backoffMultiplier;
+        }
+    }
+
+    private static RequestQueue queue;
+    private static int networkThreads = DEFAULT_NETWORK_THREADS;
+    private static volatile boolean compressRequestBodies = false; // off until the server is known to accept gzip
+
+    private static final AtomicLong responseWireBytes = new AtomicLong();
+    private static final AtomicLong responseBytes = new AtomicLong();
+    private static final AtomicLong requestWireBytes = new AtomicLong();
+    private static final AtomicLong requestBytes = new AtomicLong();
+
+    private static final Map<Request<?>, Long> queuedAt = new IdentityHashMap<>(); // guarded by latencyLock
+    private static final long[][] samples = new long[Endpoint.values().length][LATENCY_SAMPLES];
+    private static final int[] sampleCounts = new int[Endpoint.values().length];
+    private static final Object latencyLock = new Object();
+
+    private NetworkConfig() {}
+
+    /**
+     * Set the number of Volley network dispatcher threads; only takes effect before the queue is created
+     * @param threads concurrent HTTP requests; 1..8 is sensible on a phone
+     */
+    public static synchronized void setNetworkThreadCount(int threads) {
+        if (queue != null) {
+            Log.w(TAG, "Request queue already running with " + networkThreads + " threads; ignoring " + threads);
+            return;
+        }
+        networkThreads = Math.max(1, threads);
+    }
+
+    public static synchronized RequestQueue getRequestQueue(Context context) {
+        if (queue == null) {
+            System.setProperty("http.keepAlive", "true");
+            System.setProperty("http.maxConnections", String.valueOf(networkThreads)); // one pooled connection per dispatcher
+
+            File cacheDir = new File(context.getApplicationContext().getCacheDir(), "volley");
+            queue = new RequestQueue(
+                    new DiskBasedCache(cacheDir, DISK_CACHE_BYTES),
+                    new BasicNetwork(new KeepAliveStack()),
+                    networkThreads);
+            queue.addRequestEventListener(NetworkConfig::onRequestEvent);
+            queue.start();
+            Log.d(TAG, "Request queue started with " + networkThreads + " network threads");
+        }
+        return queue;
+    }
+
+    /**
+     * Volley requests whose dispatch priority can be set per request; Request itself only has getPriority
+     * @see IdempotentJsonRequest
+     * @see EmployeeRequest
+     */
+    interface Prioritized {
+        void setPriority(Request.Priority priority);
+    }
+
+    /**
+     * Attach the endpoint class's timeout/retry policy to a request; dispatched at NORMAL priority
+     * @return the same request, for chaining into queue.add
+     */
+    public static <T> Request<T> apply(Request<T> request, Endpoint endpoint) {
+        // DefaultRetryPolicy counts attempts, so every request needs its own instance
+        request.setRetryPolicy(new DefaultRetryPolicy(endpoint.timeoutMs, endpoint.maxRetries, endpoint.backoffMultiplier));
+        request.setTag(endpoint);
+        return request;
+    }
+
+    /**
+     * As apply(request, endpoint), and carry the ApiExecutor lane onto the wire: the executor only orders
+     * request building, so without this a queued bulk fetch still beats a user's save to a network thread
+     * @param lane INTERACTIVE -> Priority.HIGH, BACKGROUND -> Priority.LOW
+     */
+    public static <R extends Request<?> & Prioritized> R apply(R request, Endpoint endpoint, ApiExecutor.Lane lane) {
+        apply(request, endpoint);
+        request.setPriority(priorityFor(lane));
+        return request;
+    }
+
+    static Request.Priority priorityFor(ApiExecutor.Lane lane) {
+        return lane == ApiExecutor.Lane.INTERACTIVE ? Request.Priority.HIGH : Request.Priority.LOW;
+    }
+
+    // COMPRESSION ---
+
+    public static void setCompressRequestBodies(boolean enabled) {
+        compressRequestBodies = enabled;
+    }
+
+    public static boolean isCompressRequestBodies() {
+        return compressRequestBodies;
+    }
+
+    /**
+     * Gzip a request body if the request asks for it, compression is on and the body is worth it;
+     * counts both sizes either way
+     * @param body plain request body, may be null
+     * @param requested the request opted in (addEmployee / updateEmployee)
+     * @return gzipped bytes, or null if the body should be sent as is
+     */
+    static byte[] maybeCompress(byte[] body, boolean requested) {
+        if (body == null) {
+            return null;
+        }
+        requestBytes.addAndGet(body.length);
+        if (!requested || !compressRequestBodies || body.length < MIN_COMPRESS_BYTES) {
+            requestWireBytes.addAndGet(body.length);
+            return null;
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            gzip.write(body);
+            gzip.close();
+            byte[] compressed = out.toByteArray();
+            requestWireBytes.addAndGet(compressed.length);
+            return compressed;
+        } catch (IOException e) {
+            Log.w(TAG, "Could not gzip request body; sending it uncompressed", e);
+            requestWireBytes.addAndGet(body.length);
+            return null;
+        }
+    }
+
+    public static TrafficStats getTrafficStats() {
+        return new TrafficStats(responseWireBytes.get(), responseBytes.get(), requestWireBytes.get(), requestBytes.get());
+    }
+
+    public static class TrafficStats {
+        public final long responseWireBytes; // as received, possibly gzipped
+        public final long responseBytes;     // after inflating
+        public final long requestWireBytes;  // bodies as sent, possibly gzipped
+        public final long requestBytes;      // bodies before compression
+
+        TrafficStats(long responseWireBytes, long responseBytes, long requestWireBytes, long requestBytes) {
+            this.responseWireBytes = responseWireBytes;
+            this.responseBytes = responseBytes;
+            this.requestWireBytes = requestWireBytes;
+            this.requestBytes = requestBytes;
+        }
+
+        public long getBytesSaved() {
+            return (responseBytes - responseWireBytes) + (requestBytes - requestWireBytes);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.UK, "responses %d/%d bytes, request bodies %d/%d bytes (wire/decoded), %d saved",
+                    responseWireBytes, responseBytes, requestWireBytes, requestBytes, getBytesSaved());
+        }
+    }
+
+    // LATENCY ---
+
+    private static void onRequestEvent(Request<?> request, int event) { // Volley threads
+        if (!(request.getTag() instanceof Endpoint)) return;
+        synchronized (latencyLock) {
+            if (event == RequestQueue.RequestEvent.REQUEST_QUEUED) {
+                queuedAt.put(request, SystemClock.elapsedRealtime());
+            } else if (event == RequestQueue.RequestEvent.REQUEST_FINISHED) {
+                Long start = queuedAt.remove(request);
+                if (start != null) {
+                    int i = ((Endpoint) request.getTag()).ordinal();
+                    samples[i][sampleCounts[i] % LATENCY_SAMPLES] = SystemClock.elapsedRealtime() - start;
+                    sampleCounts[i]++;
+                }
+            }
+        }
+    }
+
+    public static List<LatencyStats> getLatencyStats() {
+        List<LatencyStats> stats = new ArrayList<>();
+        synchronized (latencyLock) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                int i = endpoint.ordinal();
+                int n = Math.min(sampleCounts[i], LATENCY_SAMPLES);
+                long[] sorted = Arrays.copyOf(samples[i], n);
+                Arrays.sort(sorted);
+                stats.add(new LatencyStats(endpoint, sampleCounts[i], percentile(sorted, 50), percentile(sorted, 99)));
+            }
+        }
+        return stats;
+    }
+
+    static long percentile(long[] sorted, int p) { // nearest-rank
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    public static class LatencyStats {
+        public final Endpoint endpoint;
+        public final int requests;  // finished since process start
+        public final long p50Ms;
+        public final long p99Ms;
+
+        LatencyStats(Endpoint endpoint, int requests, long p50Ms, long p99Ms) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.p50Ms = p50Ms;
+            this.p99Ms = p99Ms;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.UK, "%s: requests=%d p50=%dms p99=%dms", endpoint, requests, p50Ms, p99Ms);
+        }
+    }
+
+    /**
+     * HurlStack that asks for keep-alive explicitly (HttpURLConnection then returns the socket to its pool)
+     * and does the gzip negotiation itself: setting Accept-Encoding turns off HttpURLConnection's
+     * transparent decompression, which is what lets the compressed size be counted here
+     */
+    static class KeepAliveStack extends HurlStack { // package-private for the stand-in server tests
+        @Override
+        protected HttpURLConnection createConnection(URL url) throws IOException {
+            HttpURLConnection connection = super.createConnection(url);
+            connection.setRequestProperty("Connection", "keep-alive");
+            return connection;
+        }
+
+        @Override
+        public HttpResponse executeRequest(Request<?> request, Map<String, String> additionalHeaders)
+                throws IOException, AuthFailureError {
+            Map<String, String> headers = new HashMap<>(additionalHeaders);
+            headers.put("Accept-Encoding", "gzip");
+            HttpResponse response = super.executeRequest(request, headers);
+
+            InputStream content = response.getContent();
+            if (content == null) {
+                return response; // e.g. 204/304; nothing to count
+            }
+            InputStream wire = new CountingInputStream(content, responseWireBytes);
+
+            boolean gzipped = false;
+            List<Header> plainHeaders = new ArrayList<>();
+            for (Header header : response.getHeaders()) {
+                if ("Content-Encoding".equalsIgnoreCase(header.getName()) && "gzip".equalsIgnoreCase(header.getValue())) {
+                    gzipped = true;
+                } else {
+                    plainHeaders.add(header);
+                }
+            }
+            if (!gzipped) {
+                return new HttpResponse(response.getStatusCode(), response.getHeaders(), response.getContentLength(),
+                        new CountingInputStream(wire, responseBytes));
+            }
+
+            // Content-Length describes the compressed body; drop it along with Content-Encoding
+            List<Header> decodedHeaders = new ArrayList<>();
+            for (Header header : plainHeaders) {
+                if (!"Content-Length".equalsIgnoreCase(header.getName())) {
+                    decodedHeaders.add(header);
+                }
+            }
+            return new HttpResponse(response.getStatusCode(), decodedHeaders, -1,
+                    new CountingInputStream(new GZIPInputStream(wire), responseBytes));
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong counter;
+
+        CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) counter.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) counter.addAndGet(n);
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.staffsyncapp.api;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.android.volley.Request;
+import com.android.volley.RequestQueue;
+import com.android.volley.toolbox.StringRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cached, non-blocking answer to "is the COMP2000 API up?"; replaces the per-task ICMP probe
+ * (InetAddress.isReachable to a hardcoded IP) that offline queue replay used to pay.
+ *
+ * @property reachable: Result of the last probe of BASE_URL/health, or null if unknown
+ * @property checkedAt: When that result was recorded (elapsedRealtime); trusted for UP_TTL_MS / DOWN_TTL_MS
+ * @property waiters: Callers waiting on the probe in flight; one probe answers all of them
+ *
+ * @method check: Answers straight away from a fresh cached result, otherwise probes /health asynchronously
+ * @method invalidate: Forget the cached result (network came back); the next check probes again
+ * @method markReachable / markUnreachable: Record what a real request just found out, saving a probe
+ *
+ * @see ApiDataService#processQueuedTask: Checks this before replaying a queued task
+ * @see com.example.staffsyncapp.utils.OfflineSyncManager: Invalidates it from the connectivity callbacks
+ */
+public class ReachabilityMonitor {
+    private static final String TAG = "ReachabilityMonitor";
+
+    public static final long UP_TTL_MS = 30 * 1000;    // a healthy API rarely goes away without a network change
+    public static final long DOWN_TTL_MS = 5 * 1000;   // re-probe quickly once the server might be back
+
+    public interface Listener {
+        void onResult(boolean reachable);
+    }
+
+    private final String healthUrl;
+    private final List<Listener> waiters = new ArrayList<>();
+    private Boolean reachable;
+    private long checkedAt;
+    private boolean probing = false;
+    private long probes = 0;
+
+    public ReachabilityMonitor(String healthUrl) {
+        this.healthUrl = healthUrl;
+    }
+
+    /**
+     * Report whether the API is reachable
+     * @param queue Volley queue to send the probe on, if one is needed
+     * @param listener called on the calling thread for a cached answer, otherwise on the main thread
+     */
+    public void check(RequestQueue queue, Listener listener) {
+        Boolean cached;
+        synchronized (this) {
+            cached = freshResult();
+            if (cached == null) {
+                waiters.add(listener);
+                if (probing) {
+                    return; // joins the probe already in flight
+                }
+                probing = true;
+                probes++;
+            }
+        }
+        if (cached != null) {
+            listener.onResult(cached);
+            return;
+        }
+
+        StringRequest probe = new StringRequest(
+                Request.Method.GET,
+                healthUrl,
+                response -> finishProbe(true),
+                error -> finishProbe(false)
+        );
+        probe.setShouldCache(false);
+        queue.add(NetworkConfig.apply(probe, NetworkConfig.Endpoint.HEALTH)); // short timeout, no retries
+    }
+
+    public synchronized void invalidate() {
+        reachable = null;
+        Log.d(TAG, "Reachability invalidated");
+    }
+
+    public synchronized void markReachable() {
+        record(true);
+    }
+
+    public synchronized void markUnreachable() {
+        record(false);
+    }
+
+    public synchronized long getProbeCount() { // how many /health probes were actually sent
+        return probes;
+    }
+
+    // HELPERS ---
+
+    private Boolean freshResult() { // caller holds the lock
+        if (reachable == null) {
+            return null;
+        }
+        long ttl = reachable ? UP_TTL_MS : DOWN_TTL_MS;
+        return SystemClock.elapsedRealtime() - checkedAt < ttl ? reachable : null;
+    }
+
+    private void record(boolean value) {
+        reachable = value;
+        checkedAt = SystemClock.elapsedRealtime();
+    }
+
+    private void finishProbe(boolean result) { // main thread (Volley delivery)
+        List<Listener> toNotify;
+        synchronized (this) {
+            record(result);
+            probing = false;
+            toNotify = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        Log.d(TAG, "Health probe: " + (result ? "reachable" : "unreachable") + " (" + toNotify.size() + " waiting)");
+        for (Listener listener : toNotify) {
+            listener.onResult(result);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.staffsyncapp.api;
+
+import android.util.Log;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-flight layer for COMP2000 GET requests;
+ * while a read for a key is in flight, identical reads join it instead of sending another request,
+ * and the one response is fanned out to every registered EmployeeFetchListener.
+ * Callers key flights by URL + EmployeeCache generation (see flightKey), so a read issued after a
+ * write/invalidation never joins a flight that started before it and can't be handed pre-write data.
+ *
+ * @method join: Registers a listener; says whether the caller leads, follows, or promotes the flight
+ * @method start: Claims the send for whichever lane's task runs first; returns the lane to send at
+ * @method attach: Hands the flight its request, so a later INTERACTIVE joiner can raise its priority
+ * @method listenerFor: Listener to hand to the real request; completes the flight and notifies all waiters
+ * @method getCoalescedCount: How many reads were served by piggybacking on another request
+ *
+ * @see ApiDataService: getAllEmployees and getEmployeeById go through this
+ */
+class SingleFlight {
+    private static final String TAG = "SingleFlight";
+
+    enum Role {
+        LEADER,   // first caller; must queue the send
+        FOLLOWER, // joined; nothing to do
+        PROMOTED  // joined a BACKGROUND flight that hasn't sent yet; queue the send on INTERACTIVE too
+    }
+
+    private static class Flight {
+        final List<ApiDataService.EmployeeFetchListener> waiters = new ArrayList<>();
+        ApiExecutor.Lane lane;
+        boolean started = false;
+        NetworkConfig.Prioritized request; // null until attach
+
+        Flight(ApiExecutor.Lane lane) {
+            this.lane = lane;
+        }
+    }
+
+    private final Map<String, Flight> inFlight = new HashMap<>();
+    private long coalescedCount = 0;
+
+    static String flightKey(String url, long cacheGeneration) {
+        return url + "#" + cacheGeneration;
+    }
+
+    /**
+     * Register a listener for the given key
+     * @param key see flightKey
+     * @param lane caller's lane; an INTERACTIVE caller upgrades a BACKGROUND flight
+     * @param listener caller's listener
+     * @return LEADER if this is the first caller and must send the request, otherwise FOLLOWER or PROMOTED
+     */
+    synchronized Role join(String key, ApiExecutor.Lane lane, ApiDataService.EmployeeFetchListener listener) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            flight = new Flight(lane);
+            flight.waiters.add(listener);
+            inFlight.put(key, flight);
+            return Role.LEADER;
+        }
+        flight.waiters.add(listener);
+        coalescedCount++;
+        Log.d(TAG, "Joined in-flight read for " + key + " (" + flight.waiters.size() + " waiting)");
+        if (lane != ApiExecutor.Lane.INTERACTIVE || flight.lane == ApiExecutor.Lane.INTERACTIVE) {
+            return Role.FOLLOWER;
+        }
+        flight.lane = ApiExecutor.Lane.INTERACTIVE;
+        if (flight.request != null) {
+            // already queued in Volley; its PriorityBlockingQueue won't move it, but every later comparison sees HIGH
+            flight.request.setPriority(NetworkConfig.priorityFor(ApiExecutor.Lane.INTERACTIVE));
+        }
+        return flight.started ? Role.FOLLOWER : Role.PROMOTED; // not sent yet: don't wait behind the BACKGROUND lane
+    }
+
+    /**
+     * Claim the send; a promoted flight has a task on both lanes and only the first may send
+     * @return lane to send at (INTERACTIVE if anyone interactive has joined), or null if already sent/completed
+     */
+    synchronized ApiExecutor.Lane start(String key) {
+        Flight flight = inFlight.get(key);
+        if (flight == null || flight.started) {
+            return null;
+        }
+        flight.started = true;
+        return flight.lane;
+    }
+
+    // call before queue.add; catches an INTERACTIVE joiner that arrived between start and here
+    synchronized void attach(String key, NetworkConfig.Prioritized request) {
+        Flight flight = inFlight.get(key);
+        if (flight == null) {
+            return;
+        }
+        flight.request = request;
+        if (flight.lane == ApiExecutor.Lane.INTERACTIVE) {
+            request.setPriority(NetworkConfig.priorityFor(ApiExecutor.Lane.INTERACTIVE));
+        }
+    }
+
+    // listener for the leader's request; first callback completes the flight for that key
+    ApiDataService.EmployeeFetchListener listenerFor(String key) {
+        return new ApiDataService.EmployeeFetchListener() {
+            @Override
+            public void onEmployeesFetched(List<Employee> employees) {
+                for (ApiDataService.EmployeeFetchListener waiter : complete(key)) {
+                    // the list is unmodifiable (see EmployeeRequest), so every waiter can share it
+                    waiter.onEmployeesFetched(employees);
+                }
+            }
+
+            @Override
+            public void onError(String error) {
+                for (ApiDataService.EmployeeFetchListener waiter : complete(key)) {
+                    waiter.onError(error);
+                }
+            }
+        };
+    }
+
+    synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    private synchronized List<ApiDataService.EmployeeFetchListener> complete(String key) {
+        Flight flight = inFlight.remove(key);
+        return flight != null ? flight.waiters : new ArrayList<>();
+    }
+}
@@ -6,8 +6,6 @@ import android.content.SharedPreferences;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -18,10 +16,12 @@ import androidx.navigation.Navigation;
 
 import com.example.staffsyncapp.adapter.EmployeeAdapter;
 import com.example.staffsyncapp.api.ApiDataService;
+import com.example.staffsyncapp.api.ApiExecutor;
 import com.example.staffsyncapp.R;
 import com.example.staffsyncapp.databinding.EmployeeMainBodyFragmentBinding;
 import com.example.staffsyncapp.leave.LeaveHistoryDialog;
 import com.example.staffsyncapp.models.Employee;
+import com.example.staffsyncapp.utils.AdaptiveSyncScheduler;
 import com.example.staffsyncapp.utils.LocalDataService;
 import com.example.staffsyncapp.utils.NavigationManager;
 import android.widget.Toast;
@@ -33,14 +33,8 @@ import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 
-import android.content.ContentValues;
-
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
 
 
 /**
@@ -55,9 +49,8 @@ public class EmployeeMainBodyFragment extends Fragment {
     private Employee currentEmployee;
     private NavigationManager navigationManager;
 
-    private Handler syncHandler = new Handler(Looper.getMainLooper());
-    private static final long SYNC_INTERVAL = 60 * 1000; // refresh every 1 minute; in milliseconds
-    private Runnable syncRunnable;
+    private AdaptiveSyncScheduler syncScheduler; // backs off while data is stable, pauses offline
+    private long seenCacheGeneration = -1; // employee cache generation at last resume; changes on API writes
 
     private LocalDataService dbHelper;
     private EmployeeAdapter.EmployeeViewModel employeeViewModel;
@@ -70,7 +63,7 @@ public class EmployeeMainBodyFragment extends Fragment {
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         binding = EmployeeMainBodyFragmentBinding.inflate(inflater, container, false);
         apiService = new ApiDataService(requireContext());
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
         return binding.getRoot();
     }
 
@@ -93,6 +86,11 @@ public class EmployeeMainBodyFragment extends Fragment {
     @Override
     public void onResume() { // resume the employee respective-data-field get
         super.onResume();
+        long cacheGeneration = ApiDataService.getEmployeeCache().getGeneration();
+        if (syncScheduler != null && seenCacheGeneration != -1 && cacheGeneration != seenCacheGeneration) {
+            syncScheduler.onLocalWrite(); // e.g. profile edited on another screen; sync sooner
+        }
+        seenCacheGeneration = cacheGeneration;
         setupUI(); // refresh UI to show updated leave balance
         Employee employee = employeeViewModel.getEmployeeLiveData().getValue();
         if (employee != null) {
@@ -120,7 +118,7 @@ public class EmployeeMainBodyFragment extends Fragment {
     }
 
     private void loadEmployeeData() {
-        LocalDataService dbHelper = new LocalDataService(requireContext());
+        LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
         SharedPreferences prefs = requireContext().getSharedPreferences("employee_prefs", Context.MODE_PRIVATE);
         int employeeId = prefs.getInt("logged_in_employee_id", -1);
 
@@ -166,64 +164,54 @@ public class EmployeeMainBodyFragment extends Fragment {
             }
             cursor.close();
         }
-        db.close();
     }
 
     private void setupPeriodicSync(LocalDataService dbHelper, int employeeId) {
-        syncRunnable = new Runnable() {
-            @Override
-            public void run() {
-                apiService.getEmployeeById(employeeId, new ApiDataService.EmployeeFetchListener() {
+        if (syncScheduler != null) {
+            syncScheduler.stop(); // loadEmployeeData runs again on resume; never keep two loops
+        }
+
+        syncScheduler = new AdaptiveSyncScheduler(callback ->
+                apiService.getEmployeeById(employeeId, ApiExecutor.Lane.BACKGROUND, new ApiDataService.EmployeeFetchListener() {
                     @Override
                     public void onEmployeesFetched(List<Employee> employees) {
-                        if (employees != null && !employees.isEmpty()) {
-                            Employee apiEmployee = employees.get(0);
-                            currentEmployee = apiEmployee;
-
-                            // parses the GMT date string from API to a proper date format
-                            String apiDate = apiEmployee.getJoiningDate(); // "Thu, 04 Mar 2021 00:00:00 GMT" -> "2021-03-04"
-                            try {
-                                SimpleDateFormat inputFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.UK);
-                                SimpleDateFormat outputFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.UK);
-                                Date date = inputFormat.parse(apiDate);
-                                String formattedDate = outputFormat.format(date);
-
-                                // update local DB with properly formatted date
-                                ContentValues values = new ContentValues();
-                                values.put("employee_id", employeeId);
-                                values.put("full_name", apiEmployee.getFirstname() + " " + apiEmployee.getLastname());
-                                values.put("department", apiEmployee.getDepartment());
-                                values.put("salary", apiEmployee.getSalary());
-                                values.put("hire_date", formattedDate); // Store the parsed date
-
-                                SQLiteDatabase db = dbHelper.getWritableDatabase();
-                                db.insertWithOnConflict("employee_details", null, values, SQLiteDatabase.CONFLICT_REPLACE);
-                                db.close();
-
-                                // update UI with the employee data
-                                if(isAdded()) {
-                                    requireActivity().runOnUiThread(() -> {
-                                        updateUIWithEmployeeData(currentEmployee);
-                                    });
-                                }
-                            } catch (ParseException e) {
-                                Log.e("EmployeeSync", "Error parsing date from API", e);
-                            }
+                        if (employees == null || employees.isEmpty()) {
+                            callback.onComplete(AdaptiveSyncScheduler.Outcome.UNCHANGED);
+                            return;
                         }
+                        Employee apiEmployee = employees.get(0);
+                        currentEmployee = apiEmployee;
+
+                        // update UI with the employee data
+                        if(isAdded()) {
+                            requireActivity().runOnUiThread(() -> {
+                                updateUIWithEmployeeData(currentEmployee);
+                            });
+                        }
+
+                        // update local DB off the main thread; only written if the row's content hash changed
+                        dbHelper.syncEmployee(apiEmployee, result -> {
+                            Log.d("EmployeeSync", "Sync cycle: " + result);
+                            if (result == null) {
+                                callback.onComplete(AdaptiveSyncScheduler.Outcome.ERROR);
+                            } else {
+                                callback.onComplete(result.hasChanges()
+                                        ? AdaptiveSyncScheduler.Outcome.CHANGED
+                                        : AdaptiveSyncScheduler.Outcome.UNCHANGED);
+                            }
+                        });
                     }
 
                     @Override
                     public void onError(String error) {
                         Log.e("EmployeeSync", "API sync failed: " + error);
+                        callback.onComplete(AdaptiveSyncScheduler.Outcome.ERROR);
                     }
-                });
-
-                syncHandler.postDelayed(this, SYNC_INTERVAL);
-            }
-        };
+                }),
+                apiService.getOfflineSyncManager().getNetworkAvailability());
 
         // start periodic sync
-        syncHandler.post(syncRunnable);
+        syncScheduler.start();
     }
 
     private void updateUIWithEmployeeData(Employee employee) {
@@ -314,8 +302,9 @@ public class EmployeeMainBodyFragment extends Fragment {
     public void onDestroyView() {
         super.onDestroyView();
         // stop sync when view is£ destroyed
-        if (syncHandler != null && syncRunnable != null) {
-            syncHandler.removeCallbacks(syncRunnable);
+        if (syncScheduler != null) {
+            syncScheduler.stop();
+            syncScheduler = null;
         }
         binding = null;
     }
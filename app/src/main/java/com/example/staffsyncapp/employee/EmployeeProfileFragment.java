@@ -147,7 +147,7 @@ public class EmployeeProfileFragment extends Fragment {
 
     // Load employee data from API or local DB
     private void loadEmployeeData() {
-        LocalDataService dbHelper = new LocalDataService(requireContext());
+        LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
 
         SharedPreferences prefs = requireContext().getSharedPreferences("employee_prefs", Context.MODE_PRIVATE);
         int employeeId = prefs.getInt("logged_in_employee_id", -1);
@@ -161,16 +161,8 @@ public class EmployeeProfileFragment extends Fragment {
                         currentEmployee = employees.get(0);
                         updateUIWithEmployeeData(currentEmployee);
 
-                        // Store API data in local DB
-                        ContentValues values = new ContentValues();
-                        values.put("employee_id", employeeId);
-                        values.put("full_name", currentEmployee.getFirstname() + " " + currentEmployee.getLastname());
-                        values.put("department", currentEmployee.getDepartment());
-                        values.put("salary", currentEmployee.getSalary());
-
-                        SQLiteDatabase db = dbHelper.getWritableDatabase();
-                        db.insertWithOnConflict("employee_details", null, values, SQLiteDatabase.CONFLICT_REPLACE);
-                        db.close();
+                        // Store API data in local DB (background thread)
+                        dbHelper.syncEmployee(currentEmployee, null);
                     }
                 }
 
@@ -214,7 +206,6 @@ public class EmployeeProfileFragment extends Fragment {
                                     Toast.LENGTH_SHORT).show();
                         }
                     }
-                    db.close();
                 }
             });
         }
@@ -290,7 +281,7 @@ public class EmployeeProfileFragment extends Fragment {
                         @Override
                         public void onSuccess(String message) {
                             workerThread.postToMainThread(() -> {
-                                LocalDataService dbHelper = new LocalDataService(requireContext());
+                                LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
                                 SQLiteDatabase db = dbHelper.getWritableDatabase();
                                 db.beginTransaction();
                                 try {
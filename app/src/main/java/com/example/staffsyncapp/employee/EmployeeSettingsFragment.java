@@ -54,7 +54,7 @@ public class EmployeeSettingsFragment extends Fragment {
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         binding = EmployeeSettingsFragmentBinding.inflate(inflater, container, false);
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
         sharedPreferences = requireContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         return binding.getRoot();
     }
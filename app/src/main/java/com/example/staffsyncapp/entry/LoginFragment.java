@@ -50,7 +50,7 @@ public class LoginFragment extends Fragment { // core tracking variables for sec
     @Override
     public void onViewCreated(@NonNull View view, Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
 
         // CLEAR OLD DATA
         dbHelper.getWritableDatabase().execSQL("DELETE FROM employees");
@@ -241,7 +241,7 @@ public class LoginFragment extends Fragment { // core tracking variables for sec
         String email = binding.emailInput.getText().toString();
         String password = binding.passwordInput.getText().toString();
 
-        LocalDataService dbHelper = new LocalDataService(requireContext());
+        LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
         int result = dbHelper.verifyEmployeeLogin(email, password);
 
         hideAllErrorMessages();
@@ -353,7 +353,7 @@ public class LoginFragment extends Fragment { // core tracking variables for sec
     }
 
     private void updatePassword(String email, String newPassword) { // function to update password
-        LocalDataService dbHelper = new LocalDataService(requireContext());
+        LocalDataService dbHelper = LocalDataService.getInstance(requireContext());
         String hashedPassword = dbHelper.hashPassword(newPassword);
 
         ContentValues values = new ContentValues();
@@ -18,6 +18,7 @@ import androidx.navigation.Navigation;
 
 // Project-specific
 import com.example.staffsyncapp.api.ApiDataService;
+import com.example.staffsyncapp.api.ApiExecutor;
 import com.example.staffsyncapp.databinding.EmployeeLeaveRequestFragmentBinding;
 import com.example.staffsyncapp.models.Employee;
 import com.example.staffsyncapp.utils.LocalDataService;
@@ -57,7 +58,7 @@ public class LeaveRequestFragment extends Fragment {
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, ViewGroup container, Bundle savedInstanceState) {
         binding = EmployeeLeaveRequestFragmentBinding.inflate(inflater, container, false);
-        dbHelper = new LocalDataService(requireContext());
+        dbHelper = LocalDataService.getInstance(requireContext());
         notificationService = new NotificationService(requireContext());
         return binding.getRoot();
     }
@@ -290,7 +291,7 @@ public class LeaveRequestFragment extends Fragment {
         );
 
         // try to get employee name asynchronously
-        ApiDataService.getEmployeeById(employeeId, new ApiDataService.EmployeeFetchListener() {
+        ApiDataService.getEmployeeById(employeeId, ApiExecutor.Lane.BACKGROUND, new ApiDataService.EmployeeFetchListener() {
             @Override
             public void onEmployeesFetched(List<Employee> employees) {
                 if (employees != null && !employees.isEmpty()) {
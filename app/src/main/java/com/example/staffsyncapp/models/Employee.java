@@ -1,14 +1,14 @@
 package com.example.staffsyncapp.models;
 
-// Employee model class: Represents an employee with various attributes.
+// Employee model class: Represents an employee with various attributes; immutable so lists can be shared across threads.
 public class Employee { // Employee model class
-    private int id;
-    private String firstname;
-    private String lastname;
-    private String email;
-    private String department;
-    private double salary;
-    private String joiningdate;
+    private final int id;
+    private final String firstname;
+    private final String lastname;
+    private final String email;
+    private final String department;
+    private final double salary;
+    private final String joiningdate;
 
     // Constructor: define each field in an employee
     public Employee(int id, String firstname, String lastname, String email,
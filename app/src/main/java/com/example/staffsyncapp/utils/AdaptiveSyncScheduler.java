@@ -0,0 +1,139 @@
+package com.example.staffsyncapp.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import java.util.Random;
+
+/**
+ * Runs a periodic sync task with an adaptive interval instead of a fixed Handler.postDelayed loop.
+ *
+ * - data changed: interval resets to BASE_INTERVAL_MS
+ * - data unchanged or the API errored: interval doubles, up to MAX_INTERVAL_MS
+ * - onLocalWrite: interval drops to MIN_INTERVAL_MS and the next cycle is pulled forward
+ * - offline (OfflineSyncManager's network LiveData): cycles pause, resuming once the network returns
+ * - every delay is jittered by +/- JITTER_FRACTION so devices don't sync in lockstep
+ *
+ * Runs on the main thread; the task reports back through SyncCallback (from any thread).
+ *
+ * @see com.example.staffsyncapp.employee.EmployeeMainBodyFragment: Periodic employee sync
+ */
+public class AdaptiveSyncScheduler {
+    private static final String TAG = "AdaptiveSyncScheduler";
+
+    public static final long MIN_INTERVAL_MS = 15 * 1000;       // 15 seconds
+    public static final long BASE_INTERVAL_MS = 60 * 1000;      // 1 minute; the old fixed SYNC_INTERVAL
+    public static final long MAX_INTERVAL_MS = 15 * 60 * 1000;  // 15 minutes
+    public static final double JITTER_FRACTION = 0.2;
+    private static final long RESUME_DELAY_MS = 2 * 1000;       // let the network settle after reconnecting
+
+    public enum Outcome { CHANGED, UNCHANGED, ERROR }
+
+    public interface SyncCallback {
+        void onComplete(Outcome outcome);
+    }
+
+    public interface SyncTask {
+        void run(SyncCallback callback); // must call callback exactly once
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Random random = new Random();
+    private final SyncTask task;
+    private final LiveData<Boolean> networkAvailable;
+    private final Observer<Boolean> networkObserver = this::onNetworkChanged;
+    private final Runnable cycle = this::runCycle;
+
+    private long intervalMs = BASE_INTERVAL_MS;
+    private boolean started = false;
+    private boolean inFlight = false;
+    private boolean paused = false;
+    private int cycleId = 0; // bumped on stop so a late callback from an old cycle is ignored
+
+    public AdaptiveSyncScheduler(SyncTask task, LiveData<Boolean> networkAvailable) {
+        this.task = task;
+        this.networkAvailable = networkAvailable;
+    }
+
+    public void start() { // first cycle runs straight away
+        if (started) return;
+        started = true;
+        paused = Boolean.FALSE.equals(networkAvailable.getValue());
+        networkAvailable.observeForever(networkObserver);
+        if (!paused) {
+            mainHandler.post(cycle);
+        }
+    }
+
+    public void stop() {
+        started = false;
+        inFlight = false;
+        cycleId++;
+        mainHandler.removeCallbacks(cycle);
+        networkAvailable.removeObserver(networkObserver);
+    }
+
+    // something was written locally (e.g. profile update); sync again soon
+    public void onLocalWrite() {
+        intervalMs = MIN_INTERVAL_MS;
+        if (started && !inFlight && !paused) {
+            schedule(MIN_INTERVAL_MS);
+        }
+    }
+
+    public long getIntervalMs() {
+        return intervalMs;
+    }
+
+    private void runCycle() {
+        if (!started || paused || inFlight) return;
+        inFlight = true;
+        final int id = cycleId;
+        task.run(outcome -> mainHandler.post(() -> {
+            if (id != cycleId) return; // stopped meanwhile
+            inFlight = false;
+            adjustInterval(outcome);
+            if (!paused) {
+                schedule(intervalMs);
+            }
+        }));
+    }
+
+    private void adjustInterval(Outcome outcome) {
+        if (outcome == Outcome.CHANGED) {
+            intervalMs = Math.min(intervalMs, BASE_INTERVAL_MS); // keep a local-write speed-up
+        } else {
+            intervalMs = Math.min(intervalMs * 2, MAX_INTERVAL_MS);
+        }
+        Log.d(TAG, "Sync " + outcome + "; next in ~" + intervalMs / 1000 + "s");
+    }
+
+    private void onNetworkChanged(Boolean available) {
+        if (!started) return;
+        if (Boolean.FALSE.equals(available)) {
+            paused = true;
+            mainHandler.removeCallbacks(cycle);
+            Log.d(TAG, "Offline; sync paused");
+        } else if (paused) {
+            paused = false;
+            Log.d(TAG, "Back online; sync resumed");
+            if (!inFlight) {
+                schedule(RESUME_DELAY_MS);
+            }
+        }
+    }
+
+    private void schedule(long delayMs) {
+        mainHandler.removeCallbacks(cycle);
+        mainHandler.postDelayed(cycle, jitter(delayMs));
+    }
+
+    private long jitter(long delayMs) {
+        double factor = 1 + (random.nextDouble() * 2 - 1) * JITTER_FRACTION; // 0.8 .. 1.2
+        return (long) (delayMs * factor);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.staffsyncapp.utils;
+
+import com.example.staffsyncapp.models.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prebuilt trigram index over employee first name, last name, email and department;
+ * replaces the adapter's old per-keystroke toLowerCase().contains() scan.
+ *
+ * - fields are lowercased ONCE at build time and kept as char arrays
+ * - each field's distinct trigrams map to a sorted posting list of employee positions
+ * - a query of 3+ chars only checks employees in its rarest trigram's posting list;
+ *   shorter queries scan the prebuilt arrays (they match most rows anyway)
+ * - searching allocates no Strings; the query is lowercased into a char buffer
+ * - results keep the old "contains in any field" semantics but are ranked:
+ *   name prefix > email/department prefix > name substring > email/department substring
+ *
+ * The index is immutable once built, so it can be queried from any thread.
+ *
+ * @see com.example.staffsyncapp.admin.EmployeeSearchPipeline: Builds and queries this off the main thread
+ */
+public class EmployeeSearchIndex {
+    private static final int GRAM = 3;
+    private static final int FIRSTNAME = 0, LASTNAME = 1, EMAIL = 2, DEPARTMENT = 3;
+    private static final int RANKS = 4;
+
+    private final List<Employee> employees;
+    private final char[][][] fields;  // [employee][field] -> lowercased chars
+    private final long[] gramKeys;     // sorted trigram keys
+    private final int[][] postings;    // postings[k] = ascending employee positions containing gramKeys[k]
+
+    private EmployeeSearchIndex(List<Employee> employees, char[][][] fields, long[] gramKeys, int[][] postings) {
+        this.employees = employees;
+        this.fields = fields;
+        this.gramKeys = gramKeys;
+        this.postings = postings;
+    }
+
+    /**
+     * Build the index; O(total field length), so call it off the main thread for large lists
+     * @param employees list to index; its order is used as the tie-break within a rank
+     * @return the immutable index
+     */
+    public static EmployeeSearchIndex build(List<Employee> employees) {
+        List<Employee> snapshot = Collections.unmodifiableList(new ArrayList<>(employees));
+        char[][][] fields = new char[snapshot.size()][][];
+        Map<Long, IntList> grams = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+            Employee employee = snapshot.get(i);
+            fields[i] = new char[][]{
+                    lower(employee.getFirstname()),
+                    lower(employee.getLastname()),
+                    lower(employee.getEmail()),
+                    lower(employee.getDepartment())
+            };
+
+            seen.clear();
+            for (char[] field : fields[i]) {
+                for (int start = 0; start + GRAM <= field.length; start++) {
+                    seen.add(gramKey(field, start));
+                }
+            }
+            for (Long key : seen) {
+                IntList list = grams.get(key);
+                if (list == null) {
+                    list = new IntList();
+                    grams.put(key, list);
+                }
+                list.add(i); // i only increases, so each posting list stays sorted
+            }
+        }
+
+        long[] keys = new long[grams.size()];
+        int k = 0;
+        for (Long key : grams.keySet()) {
+            keys[k++] = key;
+        }
+        Arrays.sort(keys);
+        int[][] postings = new int[keys.length][];
+        for (k = 0; k < keys.length; k++) {
+            postings[k] = grams.get(keys[k]).toArray();
+        }
+
+        return new EmployeeSearchIndex(snapshot, fields, keys, postings);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * Ranked search; empty/null query returns every employee in original order
+     * @param query text typed by the user; case-insensitive
+     * @return unmodifiable ranked results
+     */
+    public List<Employee> search(CharSequence query) {
+        int length = query == null ? 0 : query.length();
+        if (length == 0) {
+            return employees;
+        }
+
+        char[] q = new char[length];
+        for (int i = 0; i < length; i++) {
+            q[i] = Character.toLowerCase(query.charAt(i));
+        }
+
+        List<List<Employee>> ranked = new ArrayList<>(RANKS);
+        for (int r = 0; r < RANKS; r++) {
+            ranked.add(new ArrayList<>());
+        }
+
+        if (length < GRAM) { // too short for trigrams; scan the prebuilt arrays
+            for (int i = 0; i < fields.length; i++) {
+                addIfMatch(i, q, ranked);
+            }
+        } else {
+            int[] candidates = rarestPosting(q);
+            if (candidates == null) {
+                return Collections.emptyList(); // some trigram of the query never occurs
+            }
+            for (int i : candidates) {
+                addIfMatch(i, q, ranked);
+            }
+        }
+
+        List<Employee> results = new ArrayList<>();
+        for (List<Employee> bucket : ranked) {
+            results.addAll(bucket);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    // HELPERS ---
+
+    private void addIfMatch(int i, char[] q, List<List<Employee>> ranked) {
+        int rank = rank(fields[i], q);
+        if (rank >= 0) {
+            ranked.get(rank).add(employees.get(i));
+        }
+    }
+
+    private static int rank(char[][] f, char[] q) { // lower is better; -1 = no match
+        if (startsWith(f[FIRSTNAME], q) || startsWith(f[LASTNAME], q)) return 0;
+        if (startsWith(f[EMAIL], q) || startsWith(f[DEPARTMENT], q)) return 1;
+        if (indexOf(f[FIRSTNAME], q) >= 0 || indexOf(f[LASTNAME], q) >= 0) return 2;
+        if (indexOf(f[EMAIL], q) >= 0 || indexOf(f[DEPARTMENT], q) >= 0) return 3;
+        return -1;
+    }
+
+    private int[] rarestPosting(char[] q) {
+        int[] rarest = null;
+        for (int start = 0; start + GRAM <= q.length; start++) {
+            int k = Arrays.binarySearch(gramKeys, gramKey(q, start));
+            if (k < 0) {
+                return null;
+            }
+            if (rarest == null || postings[k].length < rarest.length) {
+                rarest = postings[k];
+            }
+        }
+        return rarest;
+    }
+
+    private static long gramKey(char[] chars, int start) {
+        return ((long) chars[start] << 32) | ((long) chars[start + 1] << 16) | chars[start + 2];
+    }
+
+    private static boolean startsWith(char[] field, char[] q) {
+        if (q.length > field.length) return false;
+        for (int i = 0; i < q.length; i++) {
+            if (field[i] != q[i]) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(char[] field, char[] q) {
+        outer:
+        for (int start = 0; start + q.length <= field.length; start++) {
+            for (int i = 0; i < q.length; i++) {
+                if (field[start + i] != q[i]) continue outer;
+            }
+            return start;
+        }
+        return -1;
+    }
+
+    private static char[] lower(String value) {
+        if (value == null) return new char[0];
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return chars;
+    }
+
+    // growable int array; avoids boxing every posting during build
+    private static class IntList {
+        int[] values = new int[4];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.staffsyncapp.utils;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one employee sync cycle (LocalDataService.upsertEmployees).
+ *
+ * @property inserted: API employees that had no local row
+ * @property updated: Rows rewritten because their content hash changed
+ * @property deleted: Rows removed because the server no longer returns them (full-directory sync only)
+ * @property unchanged: Rows skipped; content hash matched so nothing was written
+ * @property durationMs: Time spent in the sync transaction
+ *
+ * @see LocalDataService#upsertEmployees
+ */
+public class EmployeeSyncResult {
+    public final int inserted;
+    public final int updated;
+    public final int deleted;
+    public final int unchanged;
+    public final long durationMs;
+
+    public EmployeeSyncResult(int inserted, int updated, int deleted, int unchanged, long durationMs) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+        this.durationMs = durationMs;
+    }
+
+    public boolean hasChanges() { // false = the cycle wrote nothing
+        return inserted + updated + deleted > 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.UK, "%d inserted, %d updated, %d deleted, %d unchanged in %dms",
+                inserted, updated, deleted, unchanged, durationMs);
+    }
+}
@@ -7,7 +7,10 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.os.SystemClock;
 import android.util.Base64;
 import android.util.Log;
 
@@ -15,13 +18,22 @@ import androidx.core.app.NotificationCompat;
 import androidx.navigation.NavDeepLinkBuilder;
 
 import com.example.staffsyncapp.R;
+import com.example.staffsyncapp.models.Employee;
 import com.example.staffsyncapp.models.LeaveRequest;
 
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Database service handling local data storage and authentication for StaffSync.
@@ -34,6 +46,11 @@ import java.util.Locale;
  * - Notification handling
  * - Automated salary increment management
  *
+ * One process-wide instance (getInstance) backs every screen; the database runs in
+ * write-ahead-logging mode so reads (leave history, periodic sync) don't block behind
+ * writes (admin approving requests) and SQLite can serve them from its read-connection pool.
+ * Callers must NOT close the SQLiteDatabase they get from it; close() on the helper itself is a no-op.
+ *
  * TODO:
  * - [X] leave request processing
  * - [X] notification handling from employee and admin
@@ -46,7 +63,7 @@ public class LocalDataService extends SQLiteOpenHelper {
 
     // 1. Constants and Variables ----------------------------------------------
     private static final String DATABASE_NAME = "staffsync.db";
-    private static final int DATABASE_VERSION = 2; // starting db version
+    private static final int DATABASE_VERSION = 7; // 2: first_login column, 3: secondary indexes, 4: content_hash, 5: offline retry scheduling, 6: idempotency keys, 7: queued task last_error
     private static final String TAG = "DatabaseHelper";
 
     private static Boolean isLoggedIn = false;  // tracks login state
@@ -54,13 +71,53 @@ public class LocalDataService extends SQLiteOpenHelper {
     private static final String PREFS_NAME = "StaffSyncPrefs";
     private static final String KEY_ADMIN_LOGGED_IN = "admin_logged_in";
 
+    private static LocalDataService instance; // process-wide; see getInstance
+
     private final Context context;
-    private final SQLiteDatabase db;  // thread safety
+    private final SQLiteDatabase db;  // shared connection pool; never closed by callers
 
     private static final String KEY_EMPLOYEE_LOGGED_IN = "employee_logged_in";
 
     private static final String TEMP_PASSWORD_PREFIX = "EMP";
 
+    // Hot-path SQL; compiled once per database into statementCache, then only re-bound
+    private static final String SQL_INSERT_LEAVE_REQUEST =
+            "INSERT INTO leave_requests (employee_id, employee_name, start_date, end_date, reason, status, created_at, days_requested) " +
+            "VALUES (?, ?, ?, ?, ?, 'pending', ?, ?)";
+    private static final String SQL_UPDATE_LEAVE_STATUS =
+            "UPDATE leave_requests SET status = ?, admin_response = ?, updated_at = ? WHERE id = ?";
+    private static final String SQL_ADD_USED_LEAVE =
+            "UPDATE employee_details SET used_leave = used_leave + ? WHERE employee_id = ?";
+    private static final String SQL_USED_LEAVE =
+            "SELECT used_leave FROM employee_details WHERE employee_id = ?";
+    private static final String SQL_PENDING_DAYS =
+            "SELECT COALESCE(SUM(days_requested), 0) FROM leave_requests WHERE employee_id = ? AND status = 'pending'";
+    private static final String SQL_EMPLOYEE_NAME =
+            "SELECT full_name FROM employee_details WHERE employee_id = ?";
+    // multi-column reads can't use SQLiteStatement; constant SQL still hits the connection's statement cache
+    private static final String SQL_EMPLOYEE_LOGIN =
+            "SELECT password, is_admin, employee_id, first_login, id FROM employees WHERE email = ?";
+    private static final String SQL_LEAVE_REQUEST_FOR_UPDATE =
+            "SELECT employee_id, days_requested, status FROM leave_requests WHERE id = ?";
+    // employee directory sync; both bind (full_name, department, salary, hire_date, content_hash, employee_id)
+    private static final String SQL_UPDATE_EMPLOYEE_DETAILS =
+            "UPDATE employee_details SET full_name = ?, department = ?, salary = ?, hire_date = COALESCE(?, hire_date), " +
+            "content_hash = ? WHERE employee_id = ?";
+    private static final String SQL_INSERT_EMPLOYEE_DETAILS =
+            "INSERT INTO employee_details (full_name, department, salary, hire_date, content_hash, employee_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String SQL_DELETE_EMPLOYEE_DETAILS =
+            "DELETE FROM employee_details WHERE employee_id = ?";
+
+    private static final String SYNC_PREFS_NAME = "EmployeeSync"; // not StaffSyncPrefs; logoutAdmin clears that
+    private static final String KEY_LAST_SYNC_AT = "last_sync_at";
+
+    private static final int MAX_SQL_ARGS = 500; // under SQLite's 999 bound-parameter limit on older devices
+
+    private static final ExecutorService syncExecutor = Executors.newSingleThreadExecutor(); // background directory writes
+
+    private final HashMap<String, SQLiteStatement> statementCache = new HashMap<>();
+
     public void deleteLeaveRequest(int id) {
         SQLiteDatabase db = getWritableDatabase();
         db.delete("leave_requests", "id = ?", new String[]{String.valueOf(id)});
@@ -78,6 +135,15 @@ public class LocalDataService extends SQLiteOpenHelper {
         void onComplete(List<LeaveRequest> requests, String error);
     }
 
+    public interface EmployeeSyncCallback {
+        /**
+         * Callback method invoked on the sync thread once the employee has been written.
+         *
+         * @param result What the upsert changed, or null if it failed.
+         */
+        void onComplete(EmployeeSyncResult result);
+    }
+
     public interface StatusUpdateCallback {
         /**
          * Callback method invoked upon status update completion.
@@ -88,9 +154,17 @@ public class LocalDataService extends SQLiteOpenHelper {
     }
 
     // 2. Constructor and Database Creation ------------------------------------
-    public LocalDataService(Context context) {
+    public static synchronized LocalDataService getInstance(Context context) {
+        if (instance == null) {
+            instance = new LocalDataService(context.getApplicationContext()); // app context; a fragment's would leak
+        }
+        return instance;
+    }
+
+    private LocalDataService(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION); // call to super class constructor
         this.context = context; // store context
+        setWriteAheadLoggingEnabled(true); // concurrent readers while a write is in progress
         db = this.getWritableDatabase();
 
         // ensure admin exists
@@ -124,6 +198,7 @@ public class LocalDataService extends SQLiteOpenHelper {
                 "last_increment_date DATE," + // track when 5% increases occurred
                 "annual_leave_allowance INTEGER DEFAULT 30," + // standard 30 days
                 "used_leave INTEGER DEFAULT 0," +             // track used days
+                "content_hash INTEGER," +                     // hash of the API fields last written; see upsertEmployees
                 "FOREIGN KEY(employee_id) REFERENCES employees(id))");
 
         // 3- Leave requests; manage holiday bookings
@@ -177,8 +252,13 @@ public class LocalDataService extends SQLiteOpenHelper {
                 "request_data TEXT," +    // JSON of request data
                 "created_at DATETIME DEFAULT CURRENT_TIMESTAMP," +
                 "attempts INTEGER DEFAULT 0," +
-                "last_attempt DATETIME)");
+                "last_attempt DATETIME," +
+                "next_attempt INTEGER DEFAULT 0," + // epoch ms before which the task isn't retried
+                "idempotency_key TEXT," + // sent as Idempotency-Key on every attempt of this task
+                "last_error TEXT)");      // why the last attempt failed; carried into offline_dead_letter
 
+        createDeadLetterTable(db);
+        createIndexes(db);
 
         Log.d("StaffDataService", "Database tables created successfully");
 
@@ -225,6 +305,53 @@ public class LocalDataService extends SQLiteOpenHelper {
         if (oldVersion < 2) {
             db.execSQL("ALTER TABLE employees ADD COLUMN first_login INTEGER DEFAULT 1");
         }
+        if (oldVersion < 3) {
+            createIndexes(db);
+        }
+        if (oldVersion < 4) {
+            db.execSQL("ALTER TABLE employee_details ADD COLUMN content_hash INTEGER"); // NULL = never synced; first sync rewrites it
+        }
+        if (oldVersion < 5) {
+            db.execSQL("ALTER TABLE offline_request_queue ADD COLUMN next_attempt INTEGER DEFAULT 0");
+            createDeadLetterTable(db);
+        }
+        if (oldVersion < 6) {
+            db.execSQL("ALTER TABLE offline_request_queue ADD COLUMN idempotency_key TEXT"); // NULL rows get a key on next replay
+        }
+        if (oldVersion < 7) {
+            db.execSQL("ALTER TABLE offline_request_queue ADD COLUMN last_error TEXT");
+        }
+    }
+
+    // 8- Offline tasks that ran out of retries; kept for inspection instead of silently dropped
+    private void createDeadLetterTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS offline_dead_letter (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "queue_id INTEGER," +       // id the task had in offline_request_queue
+                "request_data TEXT," +
+                "created_at DATETIME," +    // when it was originally queued
+                "attempts INTEGER," +
+                "last_error TEXT," +
+                "failed_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
+    }
+
+    /**
+     * Secondary indexes for the hot dashboard queries; without them each of these
+     * is a full table scan that grows with leave/notification history.
+     * - leave_requests(status, created_at): getPendingLeaveRequests filters by status, newest first
+     * - leave_requests(employee_id, status, days_requested): CursorLeaveRequests lookups; covers
+     *   the pending-days SUM in getRemainingLeaveDays without touching the table
+     * - pending_notifications(employee_id, is_read, created_at): checkPendingNotifications and
+     *   checkEmployeeNotifications, newest first
+     * employees.email and employee_details.employee_id are UNIQUE, so SQLite already indexes them.
+     */
+    private void createIndexes(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_leave_requests_status_created " +
+                "ON leave_requests(status, created_at)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_leave_requests_employee_status " +
+                "ON leave_requests(employee_id, status, days_requested)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_pending_notifications_employee_read " +
+                "ON pending_notifications(employee_id, is_read, created_at)");
     }
 
     // ADMIN-SIDE ---
@@ -417,6 +544,23 @@ public class LocalDataService extends SQLiteOpenHelper {
         }
     }
 
+    // the add API doesn't return the new id; no password until the next directory sync links the row (see linkPendingAccounts)
+    public void createPendingEmployeeAccount(String email) {
+        ContentValues values = new ContentValues();
+        values.put("email", email);
+        values.putNull("password"); // can't log in yet
+        values.put("is_admin", 0);
+        values.put("first_login", 1);
+        values.putNull("employee_id");
+
+        try {
+            db.insertOrThrow("Employees", null, values);
+            Log.d(TAG, "Created pending Employee account for " + email);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to create pending employee account: " + e.getMessage());
+        }
+    }
+
 
     // EMPLOYEE-SIDE ---
 
@@ -469,13 +613,7 @@ public class LocalDataService extends SQLiteOpenHelper {
     public int verifyEmployeeLogin(String email, String password) {
         Log.d(TAG, "Attempting employee login for: " + email);
 
-        Cursor cursor = db.query(
-                "employees",
-                new String[]{"password", "is_admin", "employee_id", "first_login", "id"},
-                "email = ?",
-                new String[]{email},
-                null, null, null
-        );
+        Cursor cursor = db.rawQuery(SQL_EMPLOYEE_LOGIN, new String[]{email});
 
         try {
             if (cursor.moveToFirst()) {
@@ -525,23 +663,22 @@ public class LocalDataService extends SQLiteOpenHelper {
             return -2; // code for insufficient days
         }
 
-        ContentValues values = new ContentValues(); // create content values to store leave request
-        values.put("employee_id", employeeId);
-        values.put("start_date", startDate);
-        values.put("end_date", endDate);
-        values.put("reason", reason);
-        values.put("status", "pending");
-        values.put("created_at", getCurrentDate());
-        values.put("days_requested", daysRequested);
-
         // get employee name
         String employeeName = getEmployeeNameById(employeeId);
-        if (employeeName != null) {
-            values.put("employee_name", employeeName);
-        }
 
+        SQLiteStatement insert = statement(SQL_INSERT_LEAVE_REQUEST);
         try { // try to insert leave request into database
-            return db.insert("leave_requests", null, values);
+            synchronized (insert) {
+                insert.clearBindings();
+                insert.bindLong(1, employeeId);
+                bindStringOrNull(insert, 2, employeeName);
+                bindStringOrNull(insert, 3, startDate);
+                bindStringOrNull(insert, 4, endDate);
+                bindStringOrNull(insert, 5, reason);
+                insert.bindString(6, getCurrentDate());
+                insert.bindLong(7, daysRequested);
+                return insert.executeInsert();
+            }
         } catch (Exception e) {
             Log.e(TAG, "Error submitting leave request: " + e.getMessage());
             return -1;
@@ -570,21 +707,14 @@ public class LocalDataService extends SQLiteOpenHelper {
     // HELPER METHODS ---
 
     private String getEmployeeNameById(int employeeId) {
-        Cursor cursor = db.query(
-                "employee_details",
-                new String[]{"full_name"},
-                "employee_id = ?",
-                new String[]{String.valueOf(employeeId)},
-                null, null, null
-        );
-
-        try {
-            if (cursor.moveToFirst()) {
-                return cursor.getString(0);
+        SQLiteStatement lookup = statement(SQL_EMPLOYEE_NAME);
+        synchronized (lookup) {
+            lookup.bindLong(1, employeeId);
+            try {
+                return lookup.simpleQueryForString();
+            } catch (SQLiteDoneException e) { // no row
+                return null;
             }
-            return null;
-        } finally {
-            cursor.close();
         }
     }
 
@@ -596,24 +726,16 @@ public class LocalDataService extends SQLiteOpenHelper {
     }
 
     public int getRemainingLeaveDays(int employeeId) {
-        SQLiteDatabase db = this.getReadableDatabase();
-
         // get used and pending days
-        Cursor cursor = db.rawQuery(
-                "SELECT COALESCE(SUM(days_requested), 0) as pending_days " +
-                        "FROM leave_requests " +
-                        "WHERE employee_id = ? AND status = 'pending'",
-                new String[]{String.valueOf(employeeId)}
-        );
-
-        int pendingDays = 0;
-        if (cursor != null && cursor.moveToFirst()) {
-            pendingDays = cursor.getInt(0);
-            cursor.close();
+        int pendingDays;
+        SQLiteStatement pending = statement(SQL_PENDING_DAYS);
+        synchronized (pending) {
+            pending.bindLong(1, employeeId);
+            pendingDays = (int) pending.simpleQueryForLong(); // SUM always returns a row
         }
 
         // get approved days
-        cursor = db.query(
+        Cursor cursor = db.query(
                 "employee_details",
                 new String[]{"annual_leave_allowance", "used_leave"},
                 "employee_id = ?",
@@ -674,20 +796,15 @@ public class LocalDataService extends SQLiteOpenHelper {
     }
 
     public int getEmployeeUsedLeave(int employeeId) {
-        int usedLeave = 0;
-        Cursor cursor = db.query(
-                "employee_details",
-                new String[]{"used_leave"},
-                "employee_id = ?",
-                new String[]{String.valueOf(employeeId)},
-                null, null, null
-        );
-
-        if (cursor.moveToFirst()) {
-            usedLeave = cursor.getInt(0);
+        SQLiteStatement lookup = statement(SQL_USED_LEAVE);
+        synchronized (lookup) {
+            lookup.bindLong(1, employeeId);
+            try {
+                return (int) lookup.simpleQueryForLong();
+            } catch (SQLiteDoneException e) { // no details row yet
+                return 0;
+            }
         }
-        cursor.close();
-        return usedLeave;
     }
 
     private String getCurrentDate() {
@@ -712,13 +829,7 @@ public class LocalDataService extends SQLiteOpenHelper {
         db.beginTransaction();
         try {
             // Get request details
-            Cursor request = db.query(
-                    "leave_requests",
-                    new String[]{"employee_id", "days_requested", "status"},
-                    "id = ?",
-                    new String[]{String.valueOf(requestId)},
-                    null, null, null
-            );
+            Cursor request = db.rawQuery(SQL_LEAVE_REQUEST_FOR_UPDATE, new String[]{String.valueOf(requestId)});
 
             if (!request.moveToFirst()) {
                 request.close();
@@ -732,33 +843,26 @@ public class LocalDataService extends SQLiteOpenHelper {
             request.close();
 
             // only update used_leave if request is being approved
-            if (status.equals("approved") && !currentStatus.equals("approved")) {
-                Cursor employee = db.query(
-                        "employee_details",
-                        new String[]{"used_leave"},
-                        "employee_id = ?",
-                        new String[]{String.valueOf(employeeId)},
-                        null, null, null
-                );
-
-                if (employee.moveToFirst()) {
-                    int currentUsedLeave = employee.getInt(0);
-                    ContentValues employeeValues = new ContentValues();
-                    employeeValues.put("used_leave", currentUsedLeave + daysRequested);
-                    db.update("employee_details", employeeValues,
-                            "employee_id = ?", new String[]{String.valueOf(employeeId)});
+            if (status.equals("approved") && !currentStatus.equals("approved")) { // increment in place; no read-modify-write
+                SQLiteStatement addUsedLeave = statement(SQL_ADD_USED_LEAVE);
+                synchronized (addUsedLeave) {
+                    addUsedLeave.bindLong(1, daysRequested);
+                    addUsedLeave.bindLong(2, employeeId);
+                    addUsedLeave.executeUpdateDelete();
                 }
-                employee.close();
             }
 
             // Update request status
-            ContentValues values = new ContentValues();
-            values.put("status", status);
-            values.put("admin_response", response);
-            values.put("updated_at", getCurrentDate());
-
-            int updated = db.update("leave_requests", values,
-                    "id = ?", new String[]{String.valueOf(requestId)});
+            int updated;
+            SQLiteStatement update = statement(SQL_UPDATE_LEAVE_STATUS);
+            synchronized (update) {
+                update.clearBindings();
+                bindStringOrNull(update, 1, status);
+                bindStringOrNull(update, 2, response);
+                update.bindString(3, getCurrentDate());
+                update.bindLong(4, requestId);
+                updated = update.executeUpdateDelete();
+            }
 
             db.setTransactionSuccessful();
             callback.onSuccess(updated > 0);
@@ -771,6 +875,240 @@ public class LocalDataService extends SQLiteOpenHelper {
         }
     }
 
+    // EMPLOYEE DIRECTORY SYNC ---
+
+    /**
+     * Delta-sync API employees into employee_details in ONE transaction, reusing compiled statements.
+     * - each row stores a content_hash of the API fields it was written from; rows whose hash
+     *   still matches are skipped, so a sync of unchanged data writes nothing
+     * - existing rows are updated in place so local-only columns (used_leave, annual_leave_allowance,
+     *   last_increment_date) survive; the old insertWithOnConflict(REPLACE) reset them
+     * - a successful cycle moves the last-sync watermark (getLastEmployeeSyncTime)
+     * @param employees: employees fetched from the API
+     * @param deleteMissing: true when employees is the full directory; rows for API ids
+     *                       (employee_id > 0) the server no longer returns are removed
+     * @return inserted/updated/deleted/unchanged counts for this cycle
+     */
+    public EmployeeSyncResult upsertEmployees(List<Employee> employees, boolean deleteMissing) {
+        long start = SystemClock.elapsedRealtime();
+        Map<Integer, Long> existingHashes = new HashMap<>(); // employee_id -> content_hash (null if never synced)
+        int inserted = 0, updated = 0, deleted = 0, unchanged = 0;
+
+        SQLiteStatement update = statement(SQL_UPDATE_EMPLOYEE_DETAILS);
+        SQLiteStatement insert = statement(SQL_INSERT_EMPLOYEE_DETAILS);
+        SQLiteStatement delete = statement(SQL_DELETE_EMPLOYEE_DETAILS);
+
+        synchronized (update) { // only this method uses these three; one lock guards them all
+            db.beginTransaction();
+            try {
+                if (deleteMissing) { // need every row to find the missing ones
+                    loadContentHashes("SELECT employee_id, content_hash FROM employee_details WHERE employee_id > 0",
+                            null, existingHashes);
+                } else { // only the rows in this batch; a single-employee sync shouldn't scan the table
+                    for (int from = 0; from < employees.size(); from += MAX_SQL_ARGS) {
+                        List<Employee> chunk = employees.subList(from, Math.min(from + MAX_SQL_ARGS, employees.size()));
+                        String[] ids = new String[chunk.size()];
+                        StringBuilder placeholders = new StringBuilder();
+                        for (int i = 0; i < ids.length; i++) {
+                            ids[i] = String.valueOf(chunk.get(i).getId());
+                            placeholders.append(i == 0 ? "?" : ",?");
+                        }
+                        loadContentHashes("SELECT employee_id, content_hash FROM employee_details WHERE employee_id IN ("
+                                + placeholders + ")", ids, existingHashes);
+                    }
+                }
+
+                SimpleDateFormat apiFormat = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss z", Locale.UK);
+                SimpleDateFormat localFormat = new SimpleDateFormat("yyyy-MM-dd", Locale.UK);
+                for (Employee employee : employees) {
+                    if (employee.getId() < 0) { // a pending add from the cached list; written once the API returns its id
+                        continue;
+                    }
+                    boolean exists = existingHashes.containsKey(employee.getId());
+                    Long storedHash = existingHashes.remove(employee.getId()); // whatever is left afterwards is missing
+
+                    String fullName = employee.getFirstname() + " " + employee.getLastname();
+                    String hireDate = toLocalDate(employee.getJoiningDate(), apiFormat, localFormat);
+                    long hash = contentHash(fullName, employee.getDepartment(), employee.getSalary(), hireDate);
+                    if (exists && storedHash != null && storedHash == hash) {
+                        unchanged++;
+                        continue;
+                    }
+
+                    SQLiteStatement statement = exists ? update : insert;
+                    statement.clearBindings();
+                    bindStringOrNull(statement, 1, fullName);
+                    bindStringOrNull(statement, 2, employee.getDepartment());
+                    statement.bindDouble(3, employee.getSalary());
+                    bindStringOrNull(statement, 4, hireDate);
+                    statement.bindLong(5, hash);
+                    statement.bindLong(6, employee.getId());
+                    if (exists) {
+                        statement.executeUpdateDelete();
+                        updated++;
+                    } else {
+                        statement.executeInsert();
+                        inserted++;
+                    }
+                }
+
+                if (deleteMissing) {
+                    for (int missingId : existingHashes.keySet()) {
+                        delete.bindLong(1, missingId);
+                        deleted += delete.executeUpdateDelete();
+                    }
+                }
+
+                if (deleteMissing) { // the full directory carries the ids of employees added since the last sync
+                    linkPendingAccounts(employees);
+                }
+
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+
+        context.getSharedPreferences(SYNC_PREFS_NAME, Context.MODE_PRIVATE)
+                .edit()
+                .putLong(KEY_LAST_SYNC_AT, System.currentTimeMillis())
+                .apply();
+
+        EmployeeSyncResult result = new EmployeeSyncResult(inserted, updated, deleted, unchanged,
+                SystemClock.elapsedRealtime() - start);
+        Log.d(TAG, "Employee sync: " + result);
+        return result;
+    }
+
+    public long getLastEmployeeSyncTime() { // wall-clock ms of the last successful sync; 0 = never
+        return context.getSharedPreferences(SYNC_PREFS_NAME, Context.MODE_PRIVATE)
+                .getLong(KEY_LAST_SYNC_AT, 0);
+    }
+
+    // full directory from GET /employees; written on a background thread
+    public void syncEmployeeDirectory(List<Employee> employees) {
+        syncExecutor.execute(() -> {
+            try {
+                upsertEmployees(employees, true);
+            } catch (Exception e) {
+                Log.e(TAG, "Employee directory sync failed: " + e.getMessage());
+            }
+        });
+    }
+
+    // one employee from GET /employees/{id}; written on the same background thread as the directory
+    public void syncEmployee(Employee employee, EmployeeSyncCallback callback) {
+        syncExecutor.execute(() -> {
+            EmployeeSyncResult result = null;
+            try {
+                result = upsertEmployees(Collections.singletonList(employee), false);
+            } catch (Exception e) {
+                Log.e(TAG, "Employee sync failed: " + e.getMessage());
+            }
+            if (callback != null) {
+                callback.onComplete(result);
+            }
+        });
+    }
+
+    // give accounts from createPendingEmployeeAccount their API id and temp password; caller holds the transaction
+    private void linkPendingAccounts(List<Employee> employees) {
+        Set<String> pending = new HashSet<>(); // emails still waiting for an id
+        Cursor cursor = db.rawQuery("SELECT email FROM employees WHERE employee_id IS NULL AND is_admin = 0", null);
+        try {
+            while (cursor.moveToNext()) {
+                pending.add(cursor.getString(0));
+            }
+        } finally {
+            cursor.close();
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        int linked = 0;
+        for (Employee employee : employees) {
+            if (!pending.contains(employee.getEmail())) {
+                continue;
+            }
+            ContentValues values = new ContentValues();
+            values.put("employee_id", employee.getId());
+            values.put("password", hashPassword(generateTempPassword(employee.getId())));
+            linked += db.update("employees", values, "email = ? AND employee_id IS NULL",
+                    new String[]{employee.getEmail()});
+        }
+        Log.d(TAG, "Linked " + linked + " of " + pending.size() + " pending employee accounts");
+    }
+
+    private void loadContentHashes(String sql, String[] args, Map<Integer, Long> into) {
+        Cursor cursor = db.rawQuery(sql, args);
+        try {
+            while (cursor.moveToNext()) {
+                into.put(cursor.getInt(0), cursor.isNull(1) ? null : cursor.getLong(1));
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // 64-bit FNV-1a over the written fields; stable across processes, unlike identity hashes
+    private static long contentHash(String fullName, String department, double salary, String hireDate) {
+        long hash = 0xcbf29ce484222325L;
+        String[] fields = {fullName, department, Double.toString(salary), hireDate};
+        for (String field : fields) {
+            String value = field != null ? field : "\u0000null";
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= 0x1f; // field separator, so ("ab","c") != ("a","bc")
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // API joining date ("Thu, 04 Mar 2021 00:00:00 GMT") -> "2021-03-04"; null if unrecognised so the stored date is kept
+    private static String toLocalDate(String apiDate, SimpleDateFormat apiFormat, SimpleDateFormat localFormat) {
+        if (apiDate == null) return null;
+        try {
+            return localFormat.format(apiFormat.parse(apiDate));
+        } catch (ParseException e) {
+            try {
+                localFormat.parse(apiDate); // already in local format
+                return apiDate;
+            } catch (ParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    // STATEMENT CACHE ---
+
+    // compiled statement for sql, reused across calls; callers synchronise on it while binding/executing
+    private SQLiteStatement statement(String sql) {
+        synchronized (statementCache) {
+            SQLiteStatement statement = statementCache.get(sql);
+            if (statement == null) {
+                statement = db.compileStatement(sql);
+                statementCache.put(sql, statement);
+            }
+            return statement;
+        }
+    }
+
+    private static void bindStringOrNull(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    @Override
+    public void close() { // no-op: screens keep this instance, so closing it would break them; it lives as long as the process
+        Log.w(TAG, "close() ignored on the shared LocalDataService");
+    }
+
     // TESTING METHODS: OFF ---
 
     public void testSalaryIncrement(int employeeId) {
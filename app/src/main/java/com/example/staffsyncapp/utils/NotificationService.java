@@ -73,7 +73,7 @@ public class NotificationService {
     public NotificationService(Context context) {
         this.context = context;
         this.notificationManager = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
-        this.dbHelper = new LocalDataService(context);
+        this.dbHelper = LocalDataService.getInstance(context);
         createNotificationChannels();
     }
 
@@ -122,7 +122,7 @@ public class NotificationService {
     */
     public void sendLeaveRequestToAdmin(String employeeName, String startDate, String endDate, String reason) {
         // store notification in DB first
-        LocalDataService dbHelper = new LocalDataService(context);
+        LocalDataService dbHelper = LocalDataService.getInstance(context);
         dbHelper.storeAdminNotification(employeeName, startDate, endDate, reason);
 
         // get current logged in employee ID to make sure sender doesn't get notification
@@ -191,7 +191,7 @@ public class NotificationService {
     public void sendHolidayNotification(int employeeId, String title, String message) {
 
         // get current logged in user type
-        LocalDataService dbHelper = new LocalDataService(context);
+        LocalDataService dbHelper = LocalDataService.getInstance(context);
         boolean isAdminLoggedIn = dbHelper.isAdminLoggedIn();
 
         // get current logged in employee ID
@@ -0,0 +1,491 @@
+package com.example.staffsyncapp.utils;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.staffsyncapp.api.ApiDataService;
+import com.example.staffsyncapp.api.ApiExecutor;
+import com.example.staffsyncapp.api.IdempotentJsonRequest;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Replays offline_request_queue against the API after reconnecting.
+ *
+ * - tasks are grouped per employee id; each employee's tasks run strictly in queue order
+ * - up to MAX_IN_FLIGHT employees are replayed in parallel
+ * - a row is deleted only after the API confirmed it with a 2xx; a failure bumps attempts and
+ *   holds back that employee's later tasks until the next drain, so they can't overtake it
+ * - each drain logs throughput (tasks/s) and keeps the last report in getLastReport()
+ * - before replaying, each employee's chain is compacted (see compact): consecutive edits merge
+ *   into one and edits followed by a delete are dropped, so only the minimum HTTP calls are sent
+ * - a failed task is rescheduled via its next_attempt with exponential backoff plus jitter;
+ *   chains whose head isn't due yet are skipped, and a wake-up drain is scheduled for the earliest one
+ * - tasks that exhaust maxRetries (or fail permanently) move to offline_dead_letter; see ReplayRetryPolicy
+ * - every task is sent with the Idempotency-Key persisted on its row, so a replay of a request
+ *   that already landed is a no-op server-side; merged edits get a fresh key
+ * - getMetrics: queue depth, oldest task age, dead-letter depth and retry rate
+ *
+ * All bookkeeping runs on one replay thread; API callbacks hop back onto it.
+ *
+ * @see OfflineSyncManager: Calls drain() on reconnect and after enqueueing
+ * @see ApiDataService#processQueuedTask: Sends a single task
+ */
+public class OfflineQueueReplayer {
+    private static final String TAG = "OfflineQueueReplayer";
+
+    // concurrent employees; both lanes share ApiExecutor's workers, so leave one free for a user's request
+    public static final int MAX_IN_FLIGHT = Math.max(1, ApiExecutor.DEFAULT_WORKER_COUNT - 1);
+
+    private final SQLiteDatabase db;
+    private final ApiDataService apiService;
+    private final ReplayRetryPolicy retryPolicy;
+    private final int maxRetries;
+    private final BooleanSupplier isOnline;
+    private final ScheduledExecutorService replayThread = Executors.newSingleThreadScheduledExecutor();
+    private ScheduledFuture<?> wakeUp;
+
+    // replay-thread state
+    private final LinkedHashMap<Integer, ArrayDeque<QueuedTask>> pending = new LinkedHashMap<>(); // employee -> FIFO
+    private int inFlight = 0;
+    private boolean draining = false;
+    private boolean drainRequested = false;
+    private int succeeded, failed;
+    private long drainStartedAt;
+    private volatile String lastReport = "No replay yet";
+
+    // lifetime counters for getMetrics; written on the replay thread only
+    private volatile long sentTotal, retriedTotal;
+
+    public OfflineQueueReplayer(SQLiteDatabase db, ApiDataService apiService, int maxRetries, BooleanSupplier isOnline) {
+        this(db, apiService, new ReplayRetryPolicy(maxRetries), isOnline);
+    }
+
+    OfflineQueueReplayer(SQLiteDatabase db, ApiDataService apiService, ReplayRetryPolicy retryPolicy, BooleanSupplier isOnline) {
+        this.db = db;
+        this.apiService = apiService;
+        this.retryPolicy = retryPolicy;
+        this.maxRetries = retryPolicy.getMaxRetries();
+        this.isOnline = isOnline;
+    }
+
+    public void drain() { // safe from any thread; a drain requested mid-drain runs once this one finishes
+        replayThread.execute(() -> {
+            if (draining) {
+                drainRequested = true;
+                return;
+            }
+            startDrain();
+        });
+    }
+
+    public String getLastReport() {
+        return lastReport;
+    }
+
+    private void startDrain() {
+        if (!isOnline.getAsBoolean()) { // retrying now would only burn attempts; onAvailable drains again
+            Log.d(TAG, "Offline; replay deferred");
+            return;
+        }
+        loadPending();
+        if (pending.isEmpty()) {
+            scheduleWakeUp();
+            return;
+        }
+        draining = true;
+        succeeded = 0;
+        failed = 0;
+        drainStartedAt = SystemClock.elapsedRealtime();
+        Log.d(TAG, "Replaying offline queue for " + pending.size() + " employees");
+        dispatch();
+    }
+
+    private void loadPending() {
+        pending.clear();
+        Cursor cursor = db.query(
+                "offline_request_queue",
+                new String[]{"id", "request_data", "attempts", "next_attempt", "idempotency_key", "last_attempt", "last_error"},
+                "attempts < ?",
+                new String[]{String.valueOf(maxRetries)},
+                null, null,
+                "id ASC" // insertion order; created_at only has second resolution
+        );
+        try {
+            while (cursor.moveToNext()) {
+                String idempotencyKey = cursor.getString(4);
+                if (idempotencyKey == null) { // queued before keys existed; fix one now and keep it
+                    idempotencyKey = IdempotentJsonRequest.newKey();
+                    ContentValues values = new ContentValues();
+                    values.put("idempotency_key", idempotencyKey);
+                    db.update("offline_request_queue", values, "id = ?", new String[]{String.valueOf(cursor.getInt(0))});
+                }
+                QueuedTask task = new QueuedTask(cursor.getInt(0), cursor.getString(1), cursor.getInt(2),
+                        cursor.getLong(3), idempotencyKey, cursor.getString(5), cursor.getString(6));
+                int key = task.data != null ? task.data.optInt("id", -task.rowId) : -task.rowId; // no employee id: own chain
+                ArrayDeque<QueuedTask> chain = pending.get(key);
+                if (chain == null) {
+                    chain = new ArrayDeque<>();
+                    pending.put(key, chain);
+                }
+                chain.add(task);
+            }
+        } finally {
+            cursor.close();
+        }
+
+        int removed = 0;
+        db.beginTransaction();
+        try {
+            for (Map.Entry<Integer, ArrayDeque<QueuedTask>> entry : pending.entrySet()) {
+                int before = entry.getValue().size();
+                entry.setValue(compact(entry.getValue()));
+                removed += before - entry.getValue().size();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        if (removed > 0) {
+            Log.d(TAG, "Compacted offline queue: " + removed + " superseded tasks removed");
+        }
+
+        // an employee whose head task is backing off waits as a whole, keeping its order intact
+        Iterator<ArrayDeque<QueuedTask>> chains = pending.values().iterator();
+        while (chains.hasNext()) {
+            QueuedTask head = chains.next().peek();
+            if (head == null || !retryPolicy.isDue(head.nextAttempt)) {
+                chains.remove();
+            }
+        }
+    }
+
+    /**
+     * Collapse one employee's chain (in queue order) and persist the result:
+     * - a run of consecutive edits becomes ONE edit (later fields win), stored on the run's last row;
+     *   that row takes the run's retry state, so merging can't reset a backing-off task to attempt 0
+     * - edits immediately followed by a delete are dropped; the delete alone has the same effect
+     * - repeated deletes collapse into the first
+     * Only called between drains, so no row in the chain is in flight.
+     */
+    private ArrayDeque<QueuedTask> compact(ArrayDeque<QueuedTask> chain) {
+        if (chain.size() < 2) {
+            return chain;
+        }
+
+        ArrayDeque<QueuedTask> compacted = new ArrayDeque<>();
+        List<QueuedTask> editRun = new ArrayList<>();
+        for (QueuedTask task : chain) {
+            String action = task.data != null ? task.data.optString("action") : "";
+            if ("edit_employee".equals(action)) {
+                editRun.add(task);
+            } else if ("delete_employee".equals(action)) {
+                for (QueuedTask edit : editRun) { // deleted anyway; no point sending the edits
+                    deleteRow(edit);
+                }
+                editRun.clear();
+                QueuedTask previous = compacted.peekLast();
+                if (previous != null && previous.data != null
+                        && "delete_employee".equals(previous.data.optString("action"))) {
+                    deleteRow(task); // already being deleted
+                } else {
+                    compacted.add(task);
+                }
+            } else { // unknown/corrupt; keep it where it is
+                flushEdits(editRun, compacted);
+                compacted.add(task);
+            }
+        }
+        flushEdits(editRun, compacted);
+        return compacted;
+    }
+
+    private void flushEdits(List<QueuedTask> editRun, ArrayDeque<QueuedTask> compacted) {
+        if (editRun.isEmpty()) return;
+
+        QueuedTask last = editRun.get(editRun.size() - 1);
+        if (editRun.size() > 1) {
+            try {
+                JSONObject merged = new JSONObject();
+                QueuedTask mostTried = editRun.get(0); // only a chain's head is ever sent, so this is normally the run's first row
+                long nextAttempt = 0;
+                for (QueuedTask edit : editRun) {
+                    Iterator<String> keys = edit.data.keys();
+                    while (keys.hasNext()) {
+                        String name = keys.next();
+                        merged.put(name, edit.data.get(name));
+                    }
+                    if (edit.attempts > mostTried.attempts) {
+                        mostTried = edit;
+                    }
+                    nextAttempt = Math.max(nextAttempt, edit.nextAttempt);
+                }
+                for (int i = 0; i < editRun.size() - 1; i++) {
+                    deleteRow(editRun.get(i));
+                }
+                // new body, new key: the last edit may already have landed on its own under the old one
+                String idempotencyKey = IdempotentJsonRequest.newKey();
+                ContentValues values = new ContentValues();
+                values.put("request_data", merged.toString());
+                values.put("idempotency_key", idempotencyKey);
+                values.put("attempts", mostTried.attempts);
+                values.put("next_attempt", nextAttempt);
+                values.put("last_attempt", mostTried.lastAttempt);
+                values.put("last_error", mostTried.lastError);
+                db.update("offline_request_queue", values, "id = ?", new String[]{String.valueOf(last.rowId)});
+                last = new QueuedTask(last.rowId, merged, mostTried.attempts, nextAttempt, idempotencyKey,
+                        mostTried.lastAttempt, mostTried.lastError);
+            } catch (JSONException e) {
+                Log.e(TAG, "Could not merge queued edits; replaying them individually", e);
+                compacted.addAll(editRun);
+                editRun.clear();
+                return;
+            }
+        }
+        compacted.add(last);
+        editRun.clear();
+    }
+
+    private void deleteRow(QueuedTask task) {
+        db.delete("offline_request_queue", "id = ?", new String[]{String.valueOf(task.rowId)});
+    }
+
+    // start the head task of idle employee chains until MAX_IN_FLIGHT are running
+    private void dispatch() {
+        Iterator<Map.Entry<Integer, ArrayDeque<QueuedTask>>> chains = pending.entrySet().iterator();
+        while (inFlight < MAX_IN_FLIGHT && chains.hasNext()) {
+            Map.Entry<Integer, ArrayDeque<QueuedTask>> entry = chains.next();
+            ArrayDeque<QueuedTask> chain = entry.getValue();
+            QueuedTask head = chain.peek();
+            if (head == null) {
+                chains.remove();
+                continue;
+            }
+            if (head.running) {
+                continue; // this employee already has a task in flight
+            }
+            head.running = true;
+            inFlight++;
+            sentTotal++;
+            send(entry.getKey(), head);
+        }
+
+        if (inFlight == 0 && pending.isEmpty()) {
+            finishDrain();
+        }
+    }
+
+    private void send(int key, QueuedTask task) {
+        if (task.data == null) { // unparseable row; nothing to send
+            replayThread.execute(() -> onFailure(key, task, "Invalid task JSON", false));
+            return;
+        }
+        apiService.processQueuedTask(task.data, task.idempotencyKey, new ApiDataService.QueuedTaskListener() {
+            @Override
+            public void onSuccess() {
+                replayThread.execute(() -> onSuccess(key, task));
+            }
+
+            @Override
+            public void onError(String error, boolean retryable) {
+                replayThread.execute(() -> onFailure(key, task, error, retryable));
+            }
+        });
+    }
+
+    private void onSuccess(int key, QueuedTask task) {
+        db.delete("offline_request_queue", "id = ?", new String[]{String.valueOf(task.rowId)}); // confirmed 2xx
+        succeeded++;
+        inFlight--;
+        ArrayDeque<QueuedTask> chain = pending.get(key);
+        if (chain != null) {
+            chain.poll(); // next task for this employee becomes eligible
+            if (chain.isEmpty()) pending.remove(key);
+        }
+        dispatch();
+    }
+
+    private void onFailure(int key, QueuedTask task, String error, boolean retryable) {
+        Log.e(TAG, "Task " + task.rowId + " failed: " + error);
+        failed++;
+        inFlight--;
+        int attempts = task.attempts + 1;
+        if (retryPolicy.shouldDeadLetter(attempts, retryable)) {
+            Log.e(TAG, "Dead-lettering task " + task.rowId + " after " + attempts + " attempts");
+            moveToDeadLetter(task, attempts, error);
+        } else {
+            long nextAttempt = retryPolicy.nextAttempt(attempts);
+            long delayMs = nextAttempt - retryPolicy.now();
+            ContentValues values = new ContentValues();
+            values.put("attempts", attempts);
+            values.put("last_attempt", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.UK).format(new Date()));
+            values.put("next_attempt", nextAttempt);
+            values.put("last_error", error);
+            db.update("offline_request_queue", values, "id = ?", new String[]{String.valueOf(task.rowId)});
+            retriedTotal++;
+            Log.d(TAG, "Task " + task.rowId + " retries in ~" + delayMs / 1000 + "s");
+        }
+        pending.remove(key); // hold back this employee's later tasks so they can't overtake the failed one
+        dispatch();
+    }
+
+    private void finishDrain() {
+        draining = false;
+        long elapsedMs = Math.max(1, SystemClock.elapsedRealtime() - drainStartedAt);
+        lastReport = String.format(Locale.UK, "%d replayed, %d failed in %dms (%.1f tasks/s)",
+                succeeded, failed, elapsedMs, succeeded * 1000.0 / elapsedMs);
+        Log.d(TAG, "Offline queue drained: " + lastReport);
+
+        if (drainRequested) {
+            drainRequested = false;
+            startDrain();
+        } else {
+            scheduleWakeUp();
+        }
+    }
+
+    // BACKOFF AND DEAD LETTERS ---
+
+    // the schedule itself (delay, jitter, cut-off) lives in ReplayRetryPolicy
+
+    private void scheduleWakeUp() { // drain again when the earliest backed-off task becomes due
+        long now = retryPolicy.now();
+        Cursor cursor = db.rawQuery(
+                "SELECT MIN(next_attempt) FROM offline_request_queue WHERE attempts < ? AND next_attempt > ?",
+                new String[]{String.valueOf(maxRetries), String.valueOf(now)});
+        try {
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                long delayMs = Math.max(0, cursor.getLong(0) - now);
+                if (wakeUp != null) {
+                    wakeUp.cancel(false);
+                }
+                wakeUp = replayThread.schedule(() -> {
+                    if (!draining) startDrain();
+                    else drainRequested = true;
+                }, delayMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private void moveToDeadLetter(QueuedTask task, int attempts, String error) {
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT INTO offline_dead_letter (queue_id, request_data, created_at, attempts, last_error) " +
+                            "SELECT id, request_data, created_at, ?, ? FROM offline_request_queue WHERE id = ?",
+                    new Object[]{attempts, error, task.rowId});
+            db.delete("offline_request_queue", "id = ?", new String[]{String.valueOf(task.rowId)});
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // METRICS ---
+
+    public QueueMetrics getMetrics() { // any thread
+        int depth = 0, deadLetters = 0;
+        long oldestAgeMs = 0;
+        Cursor cursor = db.rawQuery("SELECT COUNT(*), " +
+                "CAST((JULIANDAY('now') - JULIANDAY(MIN(created_at))) * 86400000 AS INTEGER) " + // created_at is UTC
+                "FROM offline_request_queue", null);
+        try {
+            if (cursor.moveToFirst()) {
+                depth = cursor.getInt(0);
+                oldestAgeMs = cursor.isNull(1) ? 0 : cursor.getLong(1);
+            }
+        } finally {
+            cursor.close();
+        }
+        cursor = db.rawQuery("SELECT COUNT(*) FROM offline_dead_letter", null);
+        try {
+            if (cursor.moveToFirst()) {
+                deadLetters = cursor.getInt(0);
+            }
+        } finally {
+            cursor.close();
+        }
+        return new QueueMetrics(depth, oldestAgeMs, deadLetters, sentTotal, retriedTotal);
+    }
+
+    public static class QueueMetrics {
+        public final int depth;            // tasks waiting in offline_request_queue
+        public final long oldestAgeMs;     // age of the oldest waiting task
+        public final int deadLetterDepth;  // tasks given up on
+        public final long sent;            // replay attempts since process start
+        public final long retried;         // of those, failures rescheduled for another attempt
+
+        QueueMetrics(int depth, long oldestAgeMs, int deadLetterDepth, long sent, long retried) {
+            this.depth = depth;
+            this.oldestAgeMs = oldestAgeMs;
+            this.deadLetterDepth = deadLetterDepth;
+            this.sent = sent;
+            this.retried = retried;
+        }
+
+        public double getRetryRate() {
+            return sent == 0 ? 0 : (double) retried / sent;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.UK, "depth=%d oldest=%ds deadLetters=%d sent=%d retryRate=%.0f%%",
+                    depth, oldestAgeMs / 1000, deadLetterDepth, sent, getRetryRate() * 100);
+        }
+    }
+
+    private static class QueuedTask {
+        final int rowId;
+        final JSONObject data; // null if the stored JSON is corrupt
+        final int attempts;
+        final long nextAttempt; // epoch ms; 0 = due now
+        final String idempotencyKey;
+        final String lastAttempt; // null until the first failure
+        final String lastError;
+        boolean running = false;
+
+        QueuedTask(int rowId, String json, int attempts, long nextAttempt, String idempotencyKey,
+                   String lastAttempt, String lastError) {
+            this(rowId, parse(json), attempts, nextAttempt, idempotencyKey, lastAttempt, lastError);
+        }
+
+        QueuedTask(int rowId, JSONObject data, int attempts, long nextAttempt, String idempotencyKey,
+                   String lastAttempt, String lastError) {
+            this.rowId = rowId;
+            this.data = data;
+            this.attempts = attempts;
+            this.nextAttempt = nextAttempt;
+            this.idempotencyKey = idempotencyKey;
+            this.lastAttempt = lastAttempt;
+            this.lastError = lastError;
+        }
+
+        private static JSONObject parse(String json) {
+            try {
+                return new JSONObject(json);
+            } catch (JSONException | NullPointerException e) {
+                return null;
+            }
+        }
+    }
+}
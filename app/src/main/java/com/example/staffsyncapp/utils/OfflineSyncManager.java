@@ -2,7 +2,6 @@ package com.example.staffsyncapp.utils;
 
 import android.content.ContentValues;
 import android.content.Context;
-import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.net.ConnectivityManager;
 import android.net.Network;
@@ -11,6 +10,7 @@ import android.net.NetworkInfo;
 import android.net.NetworkRequest;
 import android.util.Log;
 
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 import org.json.JSONObject;
 
@@ -19,45 +19,73 @@ import com.example.staffsyncapp.api.ApiDataService;
 
 public class OfflineSyncManager {
     private static final String TAG = "OfflineSyncManager";
-    private static final int MAX_RETRIES = 3;
+    private static final int MAX_RETRIES = 6; // 5 backed-off retries, roughly 2-3 minutes end to end
 
     private final Context context;
     private final SQLiteDatabase db;
     private final ConnectivityManager connectivityManager;
     private final MutableLiveData<Boolean> isNetworkAvailable = new MutableLiveData<>();
     private final ApiDataService apiService;
+    private NetworkCallback networkCallback; // null once stopped
+    private static OfflineQueueReplayer replayer; // one per process; every ApiDataService has its own manager
 
     public OfflineSyncManager(Context context, SQLiteDatabase db, ApiDataService apiService) {
-        this.context = context;
+        this.context = context.getApplicationContext(); // the first manager backs the process-wide replayer; a fragment's would leak
         this.db = db;
         this.apiService = apiService;
-        this.connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        this.connectivityManager = (ConnectivityManager) this.context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        synchronized (OfflineSyncManager.class) {
+            if (replayer == null) {
+                replayer = new OfflineQueueReplayer(db, apiService, MAX_RETRIES, this::isNetworkConnected);
+            }
+        }
+        isNetworkAvailable.postValue(isNetworkConnected()); // initial state; callbacks only report changes
         startNetworkMonitoring();
     }
 
+    /**
+     * Current network state as LiveData; true = connected
+     * @see AdaptiveSyncScheduler: pauses periodic sync while this is false
+     */
+    public LiveData<Boolean> getNetworkAvailability() {
+        return isNetworkAvailable;
+    }
+
     /**
      * Start monitoring network connectivity:
      * - Registers a NetworkCallback to listen for connectivity changes.
      * - Posts updates to LiveData (`isNetworkAvailable`) to notify observers (e.g., UI components).
      * - Automatically triggers processing of the offline queue when the network becomes available.
+     * - Invalidates ApiDataService's cached API reachability on every change.
      *
      * @see com.example.staffsyncapp.MainActivity
      * - This activity observes LiveData to reflect real-time connectivity status in the UI.
      */
     private void startNetworkMonitoring() {
         NetworkRequest request = new NetworkRequest.Builder().build();
-        connectivityManager.registerNetworkCallback(request, new NetworkCallback() {
+        networkCallback = new NetworkCallback() {
             @Override
             public void onAvailable(Network network) {
                 isNetworkAvailable.postValue(true);
+                ApiDataService.getReachability().invalidate(); // new network; the cached answer may be stale
                 processQueue();
             }
 
             @Override
             public void onLost(Network network) {
                 isNetworkAvailable.postValue(false);
+                ApiDataService.getReachability().markUnreachable();
             }
-        });
+        };
+        connectivityManager.registerNetworkCallback(request, networkCallback);
+    }
+
+    // owner is going away (ApiDataService.cleanUp); the shared replayer keeps any drain in progress going
+    public void stopNetworkMonitoring() {
+        if (networkCallback != null) {
+            connectivityManager.unregisterNetworkCallback(networkCallback);
+            networkCallback = null;
+        }
     }
 
     /**
@@ -67,11 +95,13 @@ public class OfflineSyncManager {
      * - If the network is currently available, triggers immediate processing of the queue.
      *
      * @param data The task payload, represented as a JSON object.
+     * @param idempotencyKey Key the original request was sent with; re-sent on every replay.
      */
-    public void enqueueTask(JSONObject data) {
+    public void enqueueTask(JSONObject data, String idempotencyKey) {
         ContentValues values = new ContentValues();
         values.put("request_data", data.toString());
         values.put("attempts", 0);
+        values.put("idempotency_key", idempotencyKey);
 
         long id = db.insert("offline_request_queue", null, values);
         Log.d(TAG, "Task queued: ID=" + id + ", Data=" + data.toString());
@@ -83,53 +113,23 @@ public class OfflineSyncManager {
 
     /**
      * Process tasks stored in the offline request queue:
-     * - Retrieves pending tasks from the database, prioritised by their creation time.
-     * - Utilises the ApiService to handle each task (e.g., sending it to a server).
-     * - Handles transient failures by incrementing retry attempts and retaining the task.
-     * - Removes tasks that exceed the maximum retry limit (`MAX_RETRIES`).
-
-     * Error Handling:
-     * - Logs detailed errors for debugging.
-     * - Updates the database to reflect task state (e.g., incremented retries or task removal).
+     * - Hands the queue to OfflineQueueReplayer, which replays it off the calling thread.
+     * - Tasks for the same employee run in order; different employees run in parallel (bounded).
+     * - A task is only removed once the API confirmed it (2xx); failures increment its attempts
+     *   and back off exponentially (with jitter) before the next try.
+     * - Tasks that reach the maximum retry limit (`MAX_RETRIES`) move to the offline_dead_letter table.
      */
     public void processQueue() {
         Log.d(TAG, "Processing offline request queue...");
+        replayer.drain();
+    }
 
-        Cursor cursor = db.query(
-                "offline_request_queue",
-                null,
-                "attempts < ?",
-                new String[]{String.valueOf(MAX_RETRIES)},
-                null,
-                null,
-                "created_at ASC"
-        );
-
-        while (cursor.moveToNext()) {
-            String dataStr = cursor.getString(cursor.getColumnIndex("request_data"));
-            int id = cursor.getInt(cursor.getColumnIndex("id"));
-
-            try {
-                JSONObject data = new JSONObject(dataStr);
-                apiService.processQueuedTask(data);
-
-                db.delete("offline_request_queue", "id = ?",
-                        new String[]{String.valueOf(id)});
-                Log.d(TAG, "Task processed successfully: ID=" + id);
-
-            } catch (Exception e) {
-                Log.e(TAG, "Error processing task: " + e.getMessage());
-
-                // Increment attempts and update in queue
-                int attempts = cursor.getInt(cursor.getColumnIndex("attempts"));
-                if (attempts < MAX_RETRIES) {
-                    updateAttempts(id, attempts);
-                } else {
-                    removeFromQueue(id);
-                }
-            }
-        }
-        cursor.close();
+    public String getLastReplayReport() { // throughput of the last drain
+        return replayer.getLastReport();
+    }
+
+    public OfflineQueueReplayer.QueueMetrics getQueueMetrics() { // depth, oldest age, dead letters, retry rate
+        return replayer.getMetrics();
     }
 
     /**
@@ -140,27 +140,4 @@ public class OfflineSyncManager {
         NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
         return activeNetwork != null && activeNetwork.isConnected();
     }
-
-    /**
-     * Increment the retry attempts for a task:
-     * - Updates the `attempts` column in the SQLite database for a specified task.
-     *
-     * @param id The unique identifier of the task in the database.
-     * @param attempts The current number of retry attempts.
-     */
-    private void updateAttempts(int id, int attempts) {
-        ContentValues values = new ContentValues();
-        values.put("attempts", attempts + 1);
-        db.update("offline_request_queue", values, "id = ?", new String[]{String.valueOf(id)});
-    }
-
-    /**
-     * Remove a task from the offline queue:
-     * - Deletes the specified task from the SQLite database; free resources.
-     *
-     * @param id The unique identifier of the task in the database.
-     */
-    private void removeFromQueue(int id) {
-        db.delete("offline_request_queue", "id = ?", new String[]{String.valueOf(id)});
-    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.staffsyncapp.utils;
+
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry decisions for OfflineQueueReplayer: which failures are worth retrying, when the next
+ * attempt is due, and when a task goes to offline_dead_letter instead.
+ *
+ * - backoff: BASE_BACKOFF_MS * 2^(attempts - 1), capped at MAX_BACKOFF_MS; half fixed, half random
+ *   so retries from many tasks spread out
+ * - a task is dead-lettered once it has failed maxRetries times, or straight away on a permanent error
+ *
+ * The clock and random source are injected so the schedule can be tested without waiting for it.
+ *
+ * @see OfflineQueueReplayer: Applies these decisions to offline_request_queue rows
+ */
+public class ReplayRetryPolicy {
+    public static final long BASE_BACKOFF_MS = 5 * 1000;        // first retry after ~5s
+    public static final long MAX_BACKOFF_MS = 30 * 60 * 1000;   // never wait more than 30 minutes
+
+    private final int maxRetries;
+    private final LongSupplier clock;     // epoch ms, like next_attempt
+    private final DoubleSupplier random;  // [0, 1)
+
+    public ReplayRetryPolicy(int maxRetries) {
+        this(maxRetries, System::currentTimeMillis, new Random()::nextDouble);
+    }
+
+    ReplayRetryPolicy(int maxRetries, LongSupplier clock, DoubleSupplier random) {
+        this.maxRetries = maxRetries;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public boolean isDue(long nextAttempt) { // 0 = never failed, due now
+        return nextAttempt <= now();
+    }
+
+    /**
+     * HTTP status of a failed replay -> worth retrying?
+     * @param status response code, or -1 if no response arrived at all
+     * @return true for no response, 5xx, 408 and 429; any other 4xx won't succeed on retry
+     */
+    public static boolean isRetryable(int status) {
+        return status < 0 || status >= 500 || status == 408 || status == 429;
+    }
+
+    /**
+     * @param attempts failures so far, including the one just seen
+     * @param retryable see isRetryable
+     */
+    public boolean shouldDeadLetter(int attempts, boolean retryable) {
+        return !retryable || attempts >= maxRetries;
+    }
+
+    public long backoff(int attempts) {
+        long delay = BASE_BACKOFF_MS << Math.min(Math.max(attempts - 1, 0), 20); // capped shift; can't overflow
+        delay = Math.min(delay, MAX_BACKOFF_MS);
+        return delay / 2 + (long) (random.getAsDouble() * (delay / 2));
+    }
+
+    public long nextAttempt(int attempts) { // epoch ms to store in next_attempt
+        return now() + backoff(attempts);
+    }
+}
@@ -7,6 +7,7 @@ import android.util.Log;
 import androidx.appcompat.app.AlertDialog;
 
 import com.example.staffsyncapp.api.ApiDataService;
+import com.example.staffsyncapp.api.ApiExecutor;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -21,7 +22,7 @@ public class SalaryIncrementManager {
     private static final String TAG = "SalaryIncrementManager";
 
     public static void showSalaryIncrementStatus(Context context) {
-        LocalDataService dbHelper = new LocalDataService(context);
+        LocalDataService dbHelper = LocalDataService.getInstance(context);
 
         // get all employees who were due an increment
         Cursor cursor = dbHelper.getReadableDatabase().rawQuery(
@@ -84,7 +85,7 @@ public class SalaryIncrementManager {
 
     // Gets all employees and checks the getIncrementStatus(I think I may of made 2 of these
     public static void getIncrementStatus(IncrementStatusListener listener) {
-        ApiDataService.getAllEmployees(new ApiDataService.EmployeeFetchListener() {
+        ApiDataService.getAllEmployees(ApiExecutor.Lane.BACKGROUND, new ApiDataService.EmployeeFetchListener() {
             @Override
             public void onEmployeesFetched(List<Employee> employees) {
                 try {
@@ -0,0 +1,182 @@
+package com.example.staffsyncapp.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import com.example.staffsyncapp.models.Employee;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * EmployeeAdapter.DIFF_CALLBACK over a 10k-row directory, diffed the way AsyncListDiffer does it:
+ * the rows a list update would rebind (onChanged + onInserted) are counted instead of bound, since
+ * RecyclerView itself can't run off-device.
+ */
+public class EmployeeAdapterTest {
+    private static final int ROWS = 10_000;
+
+    // REBINDS ---
+
+    @Test
+    public void refetchWithNoChanges_rebindsNothing() {
+        List<Employee> onScreen = directory(ROWS);
+        List<Employee> refetched = directory(ROWS); // new instances, same fields
+
+        RowCounter rows = diff(onScreen, refetched);
+
+        assertEquals(0, rows.rebound());
+        assertEquals(0, rows.removed);
+        assertEquals(0, rows.moved);
+    }
+
+    @Test
+    public void editedRows_areTheOnlyOnesRebound() {
+        List<Employee> onScreen = directory(ROWS);
+        List<Employee> refetched = directory(ROWS);
+        for (int position : new int[]{0, 4_321, ROWS - 1}) {
+            Employee old = refetched.get(position);
+            refetched.set(position, new Employee(old.getId(), old.getFirstname(), old.getLastname(), old.getEmail(),
+                    old.getDepartment(), old.getSalary() + 1000, old.getJoiningDate()));
+        }
+
+        RowCounter rows = diff(onScreen, refetched);
+
+        assertEquals(new TreeSet<>(Arrays.asList(0, 4_321, ROWS - 1)), rows.changedPositions);
+        assertEquals(3, rows.rebound());
+    }
+
+    @Test
+    public void addAndDelete_bindOnlyTheNewRow() {
+        List<Employee> onScreen = directory(ROWS);
+        List<Employee> refetched = directory(ROWS);
+        refetched.remove(42);
+        refetched.add(employee(ROWS + 1, "New", "Starter", "new.starter@staffsync.com", 30000));
+
+        RowCounter rows = diff(onScreen, refetched);
+
+        assertEquals(1, rows.removed);
+        assertEquals(1, rows.inserted);
+        assertEquals(1, rows.rebound());
+    }
+
+    @Test
+    public void tenThousandRowDiff_staysWellUnderASecond() {
+        List<Employee> onScreen = directory(ROWS);
+        List<Employee> refetched = directory(ROWS);
+        refetched.remove(ROWS / 2);
+        diff(onScreen, refetched); // warm up the JIT before timing
+
+        long start = System.nanoTime();
+        RowCounter rows = diff(onScreen, refetched);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, rows.removed);
+        // runs on AsyncListDiffer's background thread, so this is about staying responsive, not a frame budget
+        assertTrue("diffing " + ROWS + " rows took " + elapsedMs + "ms", elapsedMs < 1000);
+    }
+
+    // PENDING ADDS ---
+
+    @Test
+    public void pendingAdds_areMatchedByEmail() {
+        Employee pending = employee(-1, "Ada", "Lovelace", "ada@staffsync.com", 42000);
+        Employee otherPending = employee(-1, "Alan", "Turing", "alan@staffsync.com", 42000);
+        Employee created = employee(7, "Ada", "Lovelace", "ada@staffsync.com", 42000);
+
+        assertTrue(EmployeeAdapter.DIFF_CALLBACK.areItemsTheSame(pending,
+                employee(-1, "Ada", "Lovelace", "ada@staffsync.com", 42000)));
+        assertFalse(EmployeeAdapter.DIFF_CALLBACK.areItemsTheSame(pending, otherPending));
+        assertFalse(EmployeeAdapter.DIFF_CALLBACK.areItemsTheSame(pending, created)); // the server row replaces it
+
+        RowCounter rows = diff(Arrays.asList(pending, otherPending), Collections.singletonList(otherPending));
+        assertEquals(1, rows.removed);
+        assertEquals(0, rows.rebound());
+    }
+
+    // HELPERS ---
+
+    // what AsyncListDiffer.submitList computes in the background, dispatched to a counter instead of the adapter
+    private static RowCounter diff(List<Employee> oldList, List<Employee> newList) {
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldList.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newList.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return EmployeeAdapter.DIFF_CALLBACK.areItemsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return EmployeeAdapter.DIFF_CALLBACK.areContentsTheSame(oldList.get(oldItemPosition), newList.get(newItemPosition));
+            }
+        });
+        RowCounter counter = new RowCounter();
+        result.dispatchUpdatesTo(counter);
+        return counter;
+    }
+
+    private static List<Employee> directory(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i, "First" + i, "Last" + i, "employee" + i + "@staffsync.com", 30000 + i));
+        }
+        return employees;
+    }
+
+    private static Employee employee(int id, String first, String last, String email, int salary) {
+        return new Employee(id, first, last, email, "IT", salary, "Mon, 08 Jan 2024 00:00:00 GMT");
+    }
+
+    /** Stands in for the adapter's notify* calls; changed and inserted rows are the ones onBindViewHolder would see */
+    private static class RowCounter implements ListUpdateCallback {
+        final TreeSet<Integer> changedPositions = new TreeSet<>();
+        int inserted = 0;
+        int removed = 0;
+        int moved = 0;
+
+        int rebound() {
+            return changedPositions.size() + inserted;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            inserted += count;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            removed += count;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            moved++;
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            for (int i = position; i < position + count; i++) {
+                changedPositions.add(i);
+            }
+        }
+    }
+}
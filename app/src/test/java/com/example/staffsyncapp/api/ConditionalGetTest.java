@@ -0,0 +1,155 @@
+package com.example.staffsyncapp.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Response;
+import com.android.volley.toolbox.BasicNetwork;
+import com.example.staffsyncapp.models.Employee;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.HttpURLConnection;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * GET /employees revalidation (EmployeeListRequest + ConditionalGetStore) against a stand-in server:
+ * an unchanged list comes back as 304 with no body and is not parsed again.
+ */
+public class ConditionalGetTest {
+    private static final String LIST_JSON =
+            "[{\"id\":1,\"firstname\":\"Ada\",\"lastname\":\"Lovelace\",\"email\":\"ada@staffsync.com\"," +
+            "\"department\":\"IT\",\"salary\":42000,\"joiningdate\":\"Thu, 04 Mar 2021 00:00:00 GMT\"}]";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StandInServer server;
+    private BasicNetwork network;
+    private InMemorySharedPreferences prefs;
+    private File bodyFile;
+    private volatile String etag = "\"v1\"";
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StandInServer();
+        server.handle("/employees", (exchange, request) -> {
+            if (etag.equals(request.ifNoneMatch)) {
+                StandInServer.sendEmpty(exchange, HttpURLConnection.HTTP_NOT_MODIFIED);
+                return;
+            }
+            exchange.getResponseHeaders().set("ETag", etag);
+            StandInServer.send(exchange, HttpURLConnection.HTTP_OK, LIST_JSON);
+        });
+        network = new BasicNetwork(new NetworkConfig.KeepAliveStack());
+        prefs = new InMemorySharedPreferences();
+        bodyFile = new File(folder.getRoot(), "employees.body");
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void firstFetch_sendsNoValidator_andStoresEtag() throws Exception {
+        ConditionalGetStore store = newStore();
+        CountingListRequest request = fetch(store);
+
+        assertNull(server.recorded().get(0).ifNoneMatch);
+        assertEquals(1, request.parses);
+        assertEquals("\"v1\"", store.getValidatorHeaders().get("If-None-Match"));
+        assertTrue(bodyFile.exists());
+    }
+
+    @Test
+    public void unchangedList_is304_andNotParsedAgain() throws Exception {
+        ConditionalGetStore store = newStore();
+        CountingListRequest first = fetch(store);
+        store.rememberParsed(first.result);
+
+        CountingListRequest second = fetch(store);
+
+        StandInServer.Recorded revalidation = server.recorded().get(1);
+        assertEquals("\"v1\"", revalidation.ifNoneMatch);
+        assertTrue(second.networkResponse.notModified);
+        byte[] data = second.networkResponse.data;
+        assertTrue("304 carried a body", data == null || data.length == 0); // nothing transferred
+        assertEquals(0, second.parses);
+        assertNull(second.result); // null = reuse the list already parsed; see EmployeeListRequest.deliverResponse
+        assertSame(first.result, store.getParsed());
+    }
+
+    @Test
+    public void afterRestart_304_decodesPersistedBody() throws Exception {
+        fetch(newStore());
+
+        ConditionalGetStore restarted = newStore(); // validators and body survived; the parsed list didn't
+        CountingListRequest request = fetch(restarted);
+
+        assertTrue(request.networkResponse.notModified);
+        assertEquals(1, request.parses);
+        assertArrayEquals(LIST_JSON.getBytes(StandardCharsets.UTF_8), request.parsedBody);
+    }
+
+    @Test
+    public void changedList_is200_andReplacesValidator() throws Exception {
+        ConditionalGetStore store = newStore();
+        store.rememberParsed(fetch(store).result);
+
+        etag = "\"v2\"";
+        CountingListRequest request = fetch(store);
+
+        assertEquals(HttpURLConnection.HTTP_OK, request.networkResponse.statusCode);
+        assertEquals(1, request.parses);
+        assertEquals("\"v2\"", store.getValidatorHeaders().get("If-None-Match"));
+    }
+
+    // HELPERS ---
+
+    private ConditionalGetStore newStore() {
+        return new ConditionalGetStore(prefs, bodyFile, "employees");
+    }
+
+    private CountingListRequest fetch(ConditionalGetStore store) throws Exception {
+        CountingListRequest request = new CountingListRequest(server.url("/employees"), store);
+        NetworkConfig.apply(request, NetworkConfig.Endpoint.LIST);
+        request.networkResponse = network.performRequest(request);
+        Response<List<Employee>> response = request.parseNetworkResponse(request.networkResponse);
+        assertTrue("request failed: " + response.error, response.isSuccess());
+        request.result = response.result;
+        return request;
+    }
+
+    /** Counts parses instead of running EmployeeJsonParser, which needs android.util.JsonReader */
+    private static class CountingListRequest extends EmployeeListRequest {
+        int parses = 0;
+        byte[] parsedBody;
+        NetworkResponse networkResponse;
+        List<Employee> result;
+
+        CountingListRequest(String url, ConditionalGetStore store) {
+            super(url, store, response -> {}, () -> {}, error -> {});
+        }
+
+        @Override
+        protected List<Employee> parse(byte[] body, Charset charset) {
+            parses++;
+            parsedBody = body;
+            return Collections.singletonList(
+                    new Employee(1, "Ada", "Lovelace", "ada@staffsync.com", "IT", 42000, "Thu, 04 Mar 2021 00:00:00 GMT"));
+        }
+    }
+}
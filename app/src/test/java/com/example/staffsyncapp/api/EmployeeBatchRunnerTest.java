@@ -0,0 +1,214 @@
+package com.example.staffsyncapp.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.staffsyncapp.models.Employee;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * EmployeeBatchRunner against a fake Target: the in-flight limit, per-item results, one refresh
+ * at the end, and which adds get their id from that refresh.
+ */
+public class EmployeeBatchRunnerTest {
+
+    private final FakeTarget api = new FakeTarget();
+    private final RecordingBatchListener listener = new RecordingBatchListener();
+
+    @Test
+    public void neverExceedsMaxInFlight_andStartsNextAsOneFinishes() {
+        List<EmployeeMutation> mutations = new ArrayList<>();
+        for (int i = 0; i < EmployeeBatchRunner.MAX_IN_FLIGHT * 3; i++) {
+            mutations.add(EmployeeMutation.delete(i));
+        }
+        new EmployeeBatchRunner(api, mutations, listener).start();
+
+        assertEquals(EmployeeBatchRunner.MAX_IN_FLIGHT, api.pending.size());
+        while (!api.pending.isEmpty()) {
+            api.pending.remove(0).succeed();
+            assertTrue(api.pending.size() <= EmployeeBatchRunner.MAX_IN_FLIGHT);
+            assertEquals(Math.min(EmployeeBatchRunner.MAX_IN_FLIGHT, mutations.size() - listener.itemsCompleted),
+                    api.pending.size());
+        }
+        assertEquals(mutations.size(), api.sent);
+    }
+
+    @Test
+    public void reportsEachStatus_andFailuresDontStopTheBatch() {
+        List<EmployeeMutation> mutations = Arrays.asList(
+                EmployeeMutation.update(1, "Ada", "Lovelace", "ada@staffsync.com", "IT", 42000, "2021-03-04"),
+                EmployeeMutation.delete(2),
+                EmployeeMutation.delete(3));
+        new EmployeeBatchRunner(api, mutations, listener).start();
+
+        api.pending.get(2).fail();
+        api.pending.get(1).queue();
+        api.pending.get(0).succeed();
+        api.refreshWith(Collections.emptyList());
+
+        List<EmployeeMutation.Result> results = listener.results;
+        assertEquals(EmployeeMutation.Result.Status.SUCCESS, results.get(0).status);
+        assertEquals(EmployeeMutation.Result.Status.QUEUED, results.get(1).status);
+        assertEquals(EmployeeMutation.Result.Status.FAILED, results.get(2).status);
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index); // in submission order, whatever order they finished in
+        }
+    }
+
+    @Test
+    public void refreshesOnce_afterEveryMutationHasFinished() {
+        List<EmployeeMutation> mutations = Arrays.asList(EmployeeMutation.delete(1), EmployeeMutation.delete(2));
+        new EmployeeBatchRunner(api, mutations, listener).start();
+
+        api.pending.remove(0).succeed();
+        assertEquals(0, api.refreshes); // one still in flight
+        api.pending.remove(0).succeed();
+        assertEquals(1, api.refreshes);
+
+        List<Employee> employees = Collections.emptyList();
+        api.refreshWith(employees);
+        assertSame(employees, listener.employees);
+        assertEquals(1, listener.completions);
+    }
+
+    @Test
+    public void failedRefresh_stillReportsResults() {
+        new EmployeeBatchRunner(api, Collections.singletonList(EmployeeMutation.delete(1)), listener).start();
+        api.pending.get(0).succeed();
+
+        api.refreshListener.onError("Network Error (Code 503)");
+
+        assertNull(listener.employees);
+        assertEquals("Network Error (Code 503)", listener.refreshError);
+        assertEquals(1, listener.results.size());
+    }
+
+    @Test
+    public void onlySuccessfulAdds_getTheirIdFromTheRefresh() {
+        List<EmployeeMutation> mutations = Arrays.asList(
+                add("new@staffsync.com"),      // accepted, response had no id
+                add("taken@staffsync.com"),    // rejected; an existing employee already has this email
+                add("created@staffsync.com")); // accepted, response carried its id
+        new EmployeeBatchRunner(api, mutations, listener).start();
+
+        api.pending.get(0).succeedWithId(-1);
+        api.pending.get(1).fail();
+        api.pending.get(2).succeedWithId(30);
+        api.refreshWith(Arrays.asList(employee(10, "new@staffsync.com"), employee(20, "taken@staffsync.com"),
+                employee(30, "created@staffsync.com")));
+
+        assertEquals(10, listener.results.get(0).employeeId);
+        assertEquals(-1, listener.results.get(1).employeeId);
+        assertEquals(30, listener.results.get(2).employeeId);
+    }
+
+    @Test
+    public void emptyBatch_justRefreshes() {
+        new EmployeeBatchRunner(api, Collections.emptyList(), listener).start();
+
+        assertEquals(0, api.sent);
+        assertEquals(1, api.refreshes);
+    }
+
+    // HELPERS ---
+
+    private static EmployeeMutation add(String email) {
+        return EmployeeMutation.add("New", "Starter", email, "IT", 30000, "2024-01-08");
+    }
+
+    private static Employee employee(int id, String email) {
+        return new Employee(id, "New", "Starter", email, "IT", 30000, "Mon, 08 Jan 2024 00:00:00 GMT");
+    }
+
+    /** Holds every call until the test answers it, like a request that is still on the wire */
+    private static class FakeTarget implements EmployeeBatchRunner.Target {
+        final List<Call> pending = new ArrayList<>();
+        int sent = 0;
+        int refreshes = 0;
+        ApiDataService.EmployeeFetchListener refreshListener;
+
+        @Override
+        public void add(EmployeeMutation mutation, ApiDataService.EmployeeAddListener listener) {
+            sent++;
+            pending.add(new Call() {
+                @Override void succeedWithId(int id) {
+                    listener.onSuccess("Employee added successfully", new Employee(id, mutation.firstname,
+                            mutation.lastname, mutation.email, mutation.department, mutation.salary, mutation.joiningdate));
+                }
+                @Override void fail() { listener.onError("Network Error (Code 400)"); }
+            });
+        }
+
+        @Override
+        public void update(EmployeeMutation mutation, ApiDataService.EmployeeUpdateListener listener) {
+            sent++;
+            pending.add(new Call() {
+                @Override void succeedWithId(int id) { listener.onSuccess("Employee updated successfully"); }
+                @Override void queue() { listener.onQueued("Update queued for later"); }
+                @Override void fail() { listener.onError("Error updating employee"); }
+            });
+        }
+
+        @Override
+        public void delete(EmployeeMutation mutation, ApiDataService.EmployeeDeleteListener listener) {
+            sent++;
+            pending.add(new Call() {
+                @Override void succeedWithId(int id) { listener.onSuccess("Employee deleted successfully"); }
+                @Override void queue() { listener.onQueued("Delete queued for later"); }
+                @Override void fail() { listener.onError("Error deleting employee"); }
+            });
+        }
+
+        @Override
+        public void refresh(ApiDataService.EmployeeFetchListener listener) {
+            refreshes++;
+            refreshListener = listener;
+        }
+
+        void refreshWith(List<Employee> employees) {
+            refreshListener.onEmployeesFetched(employees);
+        }
+    }
+
+    private abstract static class Call {
+        abstract void succeedWithId(int id);
+        abstract void fail();
+
+        void succeed() {
+            succeedWithId(-1);
+        }
+
+        void queue() {
+            throw new UnsupportedOperationException("adds aren't queued offline");
+        }
+    }
+
+    private static class RecordingBatchListener implements ApiDataService.EmployeeBatchListener {
+        int itemsCompleted = 0;
+        int completions = 0;
+        List<EmployeeMutation.Result> results;
+        List<Employee> employees;
+        String refreshError;
+
+        @Override
+        public void onItemComplete(EmployeeMutation.Result result, int completed, int total) {
+            itemsCompleted = completed;
+        }
+
+        @Override
+        public void onComplete(List<EmployeeMutation.Result> results, List<Employee> employees, String refreshError) {
+            completions++;
+            this.results = results;
+            this.employees = employees;
+            this.refreshError = refreshError;
+        }
+    }
+}
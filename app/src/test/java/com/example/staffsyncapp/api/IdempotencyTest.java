@@ -0,0 +1,104 @@
+package com.example.staffsyncapp.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import com.android.volley.DefaultRetryPolicy;
+import com.android.volley.Request;
+import com.android.volley.toolbox.BasicNetwork;
+
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+
+/**
+ * Idempotency-Key header stability on mutating calls: a Volley retry and an offline-queue replay
+ * re-send the key of the original attempt, and separate operations get separate keys.
+ * This is only the client half. Whether a re-send is applied once is up to the server, and the
+ * COMP2000 API doesn't dedupe on the key yet; until it does, retries must not be widened for
+ * requests that aren't naturally idempotent (see NetworkConfig.Endpoint.CREATE).
+ */
+public class IdempotencyTest {
+    private static final int TIMEOUT_MS = 500; // MUTATION's 7.5s would make the retry test slow
+
+    private StandInServer server;
+    private BasicNetwork network;
+    private volatile boolean slowFirstReply = false;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StandInServer();
+        server.handle("/employees/edit/", (exchange, request) -> {
+            if (slowFirstReply) {
+                slowFirstReply = false;
+                sleep(TIMEOUT_MS * 3); // reply arrives after the client has given up
+            }
+            StandInServer.send(exchange, HttpURLConnection.HTTP_OK, "{\"message\":\"Employee updated\"}");
+        });
+        network = new BasicNetwork(new NetworkConfig.KeepAliveStack());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void retryAfterTimeout_resendsSameKey() throws Exception {
+        slowFirstReply = true;
+        IdempotentJsonRequest request = update(1, IdempotentJsonRequest.newKey());
+        request.setRetryPolicy(new DefaultRetryPolicy(TIMEOUT_MS, 1, 1f)); // as MUTATION, but with a short timeout
+
+        network.performRequest(request); // first attempt times out; Volley re-sends this same request
+
+        assertEquals(2, server.recorded().size());
+        assertNotNull(server.recorded().get(0).idempotencyKey);
+        assertEquals(request.getIdempotencyKey(), server.recorded().get(0).idempotencyKey);
+        assertEquals(request.getIdempotencyKey(), server.recorded().get(1).idempotencyKey);
+    }
+
+    @Test
+    public void offlineReplay_resendsPersistedKey() throws Exception {
+        String key = IdempotentJsonRequest.newKey(); // as stored in offline_request_queue.idempotency_key
+
+        network.performRequest(update(1, key)); // landed, but the app went offline before hearing back
+        network.performRequest(update(1, key)); // replayed from the queue: a new request, the same key
+
+        assertEquals(2, server.recorded().size());
+        assertEquals(key, server.recorded().get(0).idempotencyKey);
+        assertEquals(key, server.recorded().get(1).idempotencyKey);
+    }
+
+    @Test
+    public void separateOperations_getSeparateKeys() throws Exception {
+        network.performRequest(update(1, IdempotentJsonRequest.newKey()));
+        network.performRequest(update(1, IdempotentJsonRequest.newKey()));
+
+        assertNotEquals(server.recorded().get(0).idempotencyKey, server.recorded().get(1).idempotencyKey);
+    }
+
+    // HELPERS ---
+
+    private IdempotentJsonRequest update(int id, String key) throws Exception {
+        JSONObject body = new JSONObject();
+        body.put("action", "edit_employee");
+        body.put("id", id);
+        body.put("department", "IT");
+        IdempotentJsonRequest request = new IdempotentJsonRequest(Request.Method.PUT,
+                server.url("/employees/edit/" + id), body, key, response -> {}, error -> {});
+        NetworkConfig.apply(request, NetworkConfig.Endpoint.MUTATION, ApiExecutor.Lane.INTERACTIVE);
+        return request;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
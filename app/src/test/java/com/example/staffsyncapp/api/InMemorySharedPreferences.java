@@ -0,0 +1,152 @@
+package com.example.staffsyncapp.api;
+
+import android.content.SharedPreferences;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SharedPreferences held in a map, for JVM tests; the android.jar stub would silently store nothing.
+ * Only what ConditionalGetStore needs behaves like the real thing; listeners are ignored.
+ */
+class InMemorySharedPreferences implements SharedPreferences {
+    private final Map<String, Object> values = new HashMap<>();
+
+    @Override
+    public synchronized Map<String, ?> getAll() {
+        return new HashMap<>(values);
+    }
+
+    @Override
+    public synchronized String getString(String key, String defValue) {
+        Object value = values.get(key);
+        return value != null ? (String) value : defValue;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public synchronized Set<String> getStringSet(String key, Set<String> defValues) {
+        Object value = values.get(key);
+        return value != null ? (Set<String>) value : defValues;
+    }
+
+    @Override
+    public synchronized int getInt(String key, int defValue) {
+        Object value = values.get(key);
+        return value != null ? (Integer) value : defValue;
+    }
+
+    @Override
+    public synchronized long getLong(String key, long defValue) {
+        Object value = values.get(key);
+        return value != null ? (Long) value : defValue;
+    }
+
+    @Override
+    public synchronized float getFloat(String key, float defValue) {
+        Object value = values.get(key);
+        return value != null ? (Float) value : defValue;
+    }
+
+    @Override
+    public synchronized boolean getBoolean(String key, boolean defValue) {
+        Object value = values.get(key);
+        return value != null ? (Boolean) value : defValue;
+    }
+
+    @Override
+    public synchronized boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    @Override
+    public Editor edit() {
+        return new InMemoryEditor();
+    }
+
+    @Override
+    public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {}
+
+    @Override
+    public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {}
+
+    private class InMemoryEditor implements Editor {
+        private final Map<String, Object> pending = new HashMap<>();
+        private final Set<String> removed = new HashSet<>();
+        private boolean clear = false;
+
+        @Override
+        public Editor putString(String key, String value) {
+            return put(key, value);
+        }
+
+        @Override
+        public Editor putStringSet(String key, Set<String> values) {
+            return put(key, values != null ? new HashSet<>(values) : null);
+        }
+
+        @Override
+        public Editor putInt(String key, int value) {
+            return put(key, value);
+        }
+
+        @Override
+        public Editor putLong(String key, long value) {
+            return put(key, value);
+        }
+
+        @Override
+        public Editor putFloat(String key, float value) {
+            return put(key, value);
+        }
+
+        @Override
+        public Editor putBoolean(String key, boolean value) {
+            return put(key, value);
+        }
+
+        @Override
+        public Editor remove(String key) {
+            removed.add(key);
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            synchronized (InMemorySharedPreferences.this) {
+                if (clear) {
+                    values.clear();
+                }
+                for (String key : removed) {
+                    values.remove(key);
+                }
+                for (Map.Entry<String, Object> entry : pending.entrySet()) {
+                    if (entry.getValue() == null) { // putString(key, null) removes, as on a device
+                        values.remove(entry.getKey());
+                    } else {
+                        values.put(entry.getKey(), entry.getValue());
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void apply() {
+            commit();
+        }
+
+        private Editor put(String key, Object value) {
+            pending.put(key, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.staffsyncapp.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.android.volley.NetworkResponse;
+import com.android.volley.Request;
+import com.android.volley.TimeoutError;
+import com.android.volley.toolbox.BasicNetwork;
+import com.android.volley.toolbox.StringRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * NetworkConfig's stack and per-endpoint policies against a stand-in server: connection reuse,
+ * fail-fast /health, a patient /employees, a POST add that is never re-sent, and loopback p50/p99
+ * through the same percentile() getLatencyStats uses. The onRequestEvent sampling itself isn't
+ * exercised: it is fed by RequestQueue events and timed with SystemClock, which the JVM stub pins to 0.
+ */
+public class NetworkConfigTest {
+    private static final int LATENCY_REQUESTS = 100;
+    private static final long SLOW_LIST_MS = 3000; // past Volley's old 2.5s default timeout
+
+    private StandInServer server;
+    private BasicNetwork network;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new StandInServer();
+        server.handle("/health", (exchange, request) -> StandInServer.send(exchange, HttpURLConnection.HTTP_OK, "{\"status\":\"ok\"}"));
+        server.handle("/slow/health", (exchange, request) -> {
+            sleep(NetworkConfig.Endpoint.HEALTH.timeoutMs * 2L);
+            StandInServer.send(exchange, HttpURLConnection.HTTP_OK, "{\"status\":\"ok\"}");
+        });
+        server.handle("/slow/employees/add", (exchange, request) -> {
+            sleep(NetworkConfig.Endpoint.CREATE.timeoutMs + 1000L);
+            StandInServer.send(exchange, HttpURLConnection.HTTP_CREATED, "{\"message\":\"Employee added successfully\"}");
+        });
+        server.handle("/slow/employees", (exchange, request) -> {
+            sleep(SLOW_LIST_MS);
+            StandInServer.send(exchange, HttpURLConnection.HTTP_OK, "[]");
+        });
+        network = new BasicNetwork(new NetworkConfig.KeepAliveStack());
+    }
+
+    @After
+    public void tearDown() {
+        server.close();
+    }
+
+    // PERCENTILES ---
+
+    @Test
+    public void percentile_isNearestRank() {
+        long[] sorted = new long[100];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = i + 1;
+        }
+        assertEquals(50, NetworkConfig.percentile(sorted, 50));
+        assertEquals(99, NetworkConfig.percentile(sorted, 99));
+        assertEquals(7, NetworkConfig.percentile(new long[]{7}, 99));
+        assertEquals(0, NetworkConfig.percentile(new long[0], 50));
+    }
+
+    // POLICIES ---
+
+    @Test
+    public void health_failsFast_withoutRetrying() throws Exception {
+        long start = System.nanoTime();
+        try {
+            network.performRequest(get("/slow/health", NetworkConfig.Endpoint.HEALTH));
+            fail("a probe slower than the HEALTH timeout should fail");
+        } catch (TimeoutError expected) {
+            // probe gave up
+        }
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, server.recorded().size()); // no retries
+        assertTrue("took " + elapsedMs + "ms", elapsedMs < NetworkConfig.Endpoint.HEALTH.timeoutMs * 2L);
+    }
+
+    @Test
+    public void list_waitsForSlowDirectory() throws Exception {
+        NetworkResponse response = network.performRequest(get("/slow/employees", NetworkConfig.Endpoint.LIST));
+
+        assertEquals(HttpURLConnection.HTTP_OK, response.statusCode);
+        assertEquals(1, server.recorded().size()); // answered inside the first attempt's timeout
+    }
+
+    @Test
+    public void create_isNotRetried_afterTimeout() throws Exception {
+        try {
+            network.performRequest(post("/slow/employees/add"));
+            fail("an add slower than the CREATE timeout should fail");
+        } catch (TimeoutError expected) {
+            // gave up; the server may still have added the employee
+        }
+
+        assertEquals(1, server.recorded().size()); // never re-sent, so never added twice
+    }
+
+    // LATENCY ---
+
+    @Test
+    public void keepAlive_reusesConnections_andReportsP50P99() throws Exception {
+        long[] latencies = new long[LATENCY_REQUESTS];
+        for (int i = 0; i < LATENCY_REQUESTS; i++) {
+            long start = System.nanoTime();
+            network.performRequest(get("/health", NetworkConfig.Endpoint.HEALTH));
+            latencies[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(latencies);
+        long p50 = NetworkConfig.percentile(latencies, 50);
+        long p99 = NetworkConfig.percentile(latencies, 99);
+
+        Set<Integer> connections = new HashSet<>();
+        for (StandInServer.Recorded request : server.recorded()) {
+            connections.add(request.remotePort);
+        }
+        assertTrue("opened " + connections.size() + " connections for " + LATENCY_REQUESTS + " requests",
+                connections.size() < LATENCY_REQUESTS / 10);
+        assertTrue(p50 <= p99);
+        assertTrue("p99 " + p99 + "ms over a loopback connection", p99 < NetworkConfig.Endpoint.HEALTH.timeoutMs);
+    }
+
+    // HELPERS ---
+
+    private StringRequest get(String path, NetworkConfig.Endpoint endpoint) {
+        StringRequest request = new StringRequest(Request.Method.GET, server.url(path), response -> {}, error -> {});
+        request.setShouldCache(false);
+        NetworkConfig.apply(request, endpoint);
+        return request;
+    }
+
+    private StringRequest post(String path) {
+        StringRequest request = new StringRequest(Request.Method.POST, server.url(path), response -> {}, error -> {});
+        request.setShouldCache(false);
+        NetworkConfig.apply(request, NetworkConfig.Endpoint.CREATE);
+        return request;
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.staffsyncapp.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import com.android.volley.Request;
+import com.example.staffsyncapp.models.Employee;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SingleFlight keys and lane promotion: reads after a write start their own flight, and an
+ * INTERACTIVE caller joining a BACKGROUND flight gets it sent (or re-prioritised) at its lane.
+ */
+public class SingleFlightTest {
+    private static final String URL = "http://10.0.2.2:8000/comp2000/employees";
+
+    private final SingleFlight flights = new SingleFlight();
+
+    @Test
+    public void sameGeneration_joinsOneFlight() {
+        String key = SingleFlight.flightKey(URL, 0);
+        RecordingListener leader = new RecordingListener();
+        RecordingListener follower = new RecordingListener();
+
+        assertEquals(SingleFlight.Role.LEADER, flights.join(key, ApiExecutor.Lane.INTERACTIVE, leader));
+        assertEquals(SingleFlight.Role.FOLLOWER, flights.join(key, ApiExecutor.Lane.INTERACTIVE, follower));
+        flights.listenerFor(key).onEmployeesFetched(Collections.emptyList());
+
+        assertEquals(1, leader.fetched);
+        assertEquals(1, follower.fetched);
+        assertEquals(1, flights.getCoalescedCount());
+    }
+
+    @Test
+    public void readAfterWrite_doesNotJoinOlderFlight() {
+        String before = SingleFlight.flightKey(URL, 0);
+        String after = SingleFlight.flightKey(URL, 1); // EmployeeCache bumped its generation in between
+        RecordingListener stale = new RecordingListener();
+        RecordingListener fresh = new RecordingListener();
+
+        flights.join(before, ApiExecutor.Lane.BACKGROUND, stale);
+
+        assertNotEquals(before, after);
+        assertEquals(SingleFlight.Role.LEADER, flights.join(after, ApiExecutor.Lane.INTERACTIVE, fresh));
+        flights.listenerFor(before).onEmployeesFetched(Collections.emptyList());
+        assertEquals(1, stale.fetched);
+        assertEquals(0, fresh.fetched); // still waiting for its own, post-write response
+    }
+
+    @Test
+    public void interactiveJoiner_promotesUnsentBackgroundFlight() {
+        String key = SingleFlight.flightKey(URL, 0);
+        flights.join(key, ApiExecutor.Lane.BACKGROUND, new RecordingListener());
+
+        assertEquals(SingleFlight.Role.PROMOTED, flights.join(key, ApiExecutor.Lane.INTERACTIVE, new RecordingListener()));
+        assertEquals(ApiExecutor.Lane.INTERACTIVE, flights.start(key)); // first task to run sends at HIGH
+        assertNull(flights.start(key)); // the other lane's task finds it already sent
+    }
+
+    @Test
+    public void interactiveJoiner_raisesPriorityOfSentBackgroundFlight() {
+        String key = SingleFlight.flightKey(URL, 0);
+        flights.join(key, ApiExecutor.Lane.BACKGROUND, new RecordingListener());
+        assertEquals(ApiExecutor.Lane.BACKGROUND, flights.start(key));
+        FakeRequest request = new FakeRequest(Request.Priority.LOW);
+        flights.attach(key, request);
+
+        assertEquals(SingleFlight.Role.FOLLOWER, flights.join(key, ApiExecutor.Lane.INTERACTIVE, new RecordingListener()));
+        assertEquals(Request.Priority.HIGH, request.priority);
+    }
+
+    @Test
+    public void interactiveJoiner_beforeAttach_isAppliedOnAttach() {
+        String key = SingleFlight.flightKey(URL, 0);
+        flights.join(key, ApiExecutor.Lane.BACKGROUND, new RecordingListener());
+        flights.start(key);
+        flights.join(key, ApiExecutor.Lane.INTERACTIVE, new RecordingListener()); // request still being built
+
+        FakeRequest request = new FakeRequest(Request.Priority.LOW);
+        flights.attach(key, request);
+
+        assertEquals(Request.Priority.HIGH, request.priority);
+    }
+
+    // HELPERS ---
+
+    private static class RecordingListener implements ApiDataService.EmployeeFetchListener {
+        int fetched = 0;
+        int errors = 0;
+
+        @Override
+        public void onEmployeesFetched(List<Employee> employees) {
+            fetched++;
+        }
+
+        @Override
+        public void onError(String error) {
+            errors++;
+        }
+    }
+
+    private static class FakeRequest implements NetworkConfig.Prioritized {
+        Request.Priority priority;
+
+        FakeRequest(Request.Priority priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void setPriority(Request.Priority priority) {
+            this.priority = priority;
+        }
+    }
+}
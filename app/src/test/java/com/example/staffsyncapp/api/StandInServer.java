@@ -0,0 +1,123 @@
+package com.example.staffsyncapp.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the COMP2000 API, for JVM tests that drive the real Volley network stack.
+ * Built on the JDK's HttpServer so no extra test dependency is needed.
+ *
+ * @property recorded: Every request the server saw, in arrival order
+ *
+ * @method handle: Route a path to a handler
+ * @method url: Absolute URL for a path on this server
+ * @method send / sendEmpty: Reply helpers for handlers
+ *
+ * Handlers run on a thread pool, so a deliberately slow handler doesn't hold up the client's retry.
+ */
+class StandInServer implements AutoCloseable {
+
+    /** What the server saw for one request */
+    static class Recorded {
+        final String method;
+        final String path;
+        final String idempotencyKey;
+        final String ifNoneMatch;
+        final int remotePort; // same port = same pooled connection
+        final byte[] body;
+
+        Recorded(HttpExchange exchange, byte[] body) {
+            this.method = exchange.getRequestMethod();
+            this.path = exchange.getRequestURI().getPath();
+            this.idempotencyKey = exchange.getRequestHeaders().getFirst(IdempotentJsonRequest.HEADER);
+            this.ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            this.remotePort = exchange.getRemoteAddress().getPort();
+            this.body = body;
+        }
+    }
+
+    interface Handler {
+        void handle(HttpExchange exchange, Recorded request) throws IOException;
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Recorded> recorded = new ArrayList<>();
+
+    StandInServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    void handle(String path, Handler handler) {
+        server.createContext(path, wrap(handler));
+    }
+
+    String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    synchronized List<Recorded> recorded() {
+        return new ArrayList<>(recorded);
+    }
+
+    static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length); // fixed length keeps the connection reusable
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    // HELPERS ---
+
+    private HttpHandler wrap(Handler handler) {
+        return exchange -> {
+            Recorded request = new Recorded(exchange, readAll(exchange.getRequestBody()));
+            synchronized (this) {
+                recorded.add(request);
+            }
+            try {
+                handler.handle(exchange, request);
+            } catch (IOException e) {
+                exchange.close(); // the client gave up (timeout); nothing left to answer
+            }
+        };
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
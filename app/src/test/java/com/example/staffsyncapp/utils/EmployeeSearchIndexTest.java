@@ -0,0 +1,164 @@
+package com.example.staffsyncapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.example.staffsyncapp.models.Employee;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * EmployeeSearchIndex: ranking, the short-query scan, the same matches as the adapter's old
+ * toLowerCase().contains() filter, and a timing smoke test over 100k synthetic employees.
+ */
+public class EmployeeSearchIndexTest {
+    private static final String[] FIRST = {"Ada", "Alan", "Grace", "Linus", "Barbara", "Ken", "Margaret", "Dennis",
+            "Frances", "Edsger", "Radia", "Tim", "Sophie", "John", "Hedy", "Katherine", "Niklaus", "Donald", "Shafi", "Al"};
+    private static final String[] LAST = {"Lovelace", "Turing", "Hopper", "Torvalds", "Liskov", "Thompson", "Hamilton",
+            "Ritchie", "Allen", "Dijkstra", "Perlman", "Berners-Lee", "Wilson", "Backus", "Lamarr", "Johnson", "Wirth",
+            "Knuth", "Goldwasser", "Smith", "O'Neil", "Nakamura", "Okafor", "Kowalski", "MacDonald"};
+    private static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Engineering", "Sales", "Marketing",
+            "Operations", "Legal"};
+    private static final String[] QUERIES = {"a", "al", "IT", "ada", "LOVE", "son", "ing", "ops", "@staffsync",
+            "e.t", "42@", "hopper1", "xyz", "q", "ken.wirth", "-le", "o'n"};
+
+    // RANKING ---
+
+    @Test
+    public void ranksNamePrefix_thenOtherPrefix_thenNameSubstring_thenOtherSubstring() {
+        Employee namePrefix = employee(1, "Ada", "Lovelace", "ada@staffsync.com", "IT");
+        Employee emailPrefix = employee(2, "Bob", "Stone", "adaptive.bob@staffsync.com", "HR");
+        Employee nameSubstring = employee(3, "Sam", "Kadash", "sam.k@staffsync.com", "IT");
+        Employee departmentSubstring = employee(4, "Tom", "Reed", "tom@staffsync.com", "Canada Ops");
+        Employee noMatch = employee(5, "Eve", "Moss", "eve@staffsync.com", "Legal");
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(
+                Arrays.asList(departmentSubstring, noMatch, nameSubstring, emailPrefix, namePrefix));
+
+        assertEquals(Arrays.asList(namePrefix, emailPrefix, nameSubstring, departmentSubstring), index.search("ada"));
+        assertEquals(index.search("ada"), index.search("ADA")); // case-insensitive
+    }
+
+    @Test
+    public void tiesKeepListOrder() {
+        Employee second = employee(2, "Ada", "Byron", "byron@staffsync.com", "IT");
+        Employee first = employee(1, "Ada", "Lovelace", "lovelace@staffsync.com", "IT");
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(Arrays.asList(second, first));
+
+        assertEquals(Arrays.asList(second, first), index.search("ada"));
+    }
+
+    @Test
+    public void emptyQuery_returnsEveryoneInOrder() {
+        List<Employee> employees = Arrays.asList(employee(2, "Bob", "Stone", "bob@staffsync.com", "HR"),
+                employee(1, "Ada", "Lovelace", "ada@staffsync.com", "IT"));
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(employees);
+
+        assertEquals(employees, index.search(""));
+        assertSame(index.search(""), index.search(null));
+    }
+
+    // SHORT QUERIES ---
+
+    @Test
+    public void shortQuery_scansFieldsWithNoTrigrams() {
+        Employee al = employee(1, "Al", "Wu", "a@hr.io", "HR"); // no field is long enough to be indexed by trigram
+        Employee other = employee(2, "Bob", "Stone", "bob@staffsync.com", "IT");
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(Arrays.asList(other, al));
+
+        assertEquals(Collections.singletonList(al), index.search("wu"));
+        assertEquals(Collections.singletonList(al), index.search("hr"));
+        assertEquals(Arrays.asList(other, al), index.search("i")); // "IT" prefix ranks above "a@hr.io" substring
+    }
+
+    @Test
+    public void unknownTrigram_returnsNothing() {
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(
+                Collections.singletonList(employee(1, "Abcd", "Bcda", "ab@staffsync.com", "IT")));
+
+        assertTrue(index.search("abz").isEmpty());
+        assertTrue(index.search("abcda").isEmpty()); // abc, bcd and cda are all indexed; the whole query isn't anywhere
+    }
+
+    // PARITY WITH THE OLD FILTER ---
+
+    @Test
+    public void matchesTheSameEmployeesAsTheContainsFilter() {
+        List<Employee> employees = synthetic(5_000, new Random(7));
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(employees);
+
+        for (String query : QUERIES) {
+            List<Employee> found = index.search(query);
+            assertEquals("duplicates for '" + query + "'", found.size(), new HashSet<>(found).size());
+            assertEquals("'" + query + "'", new HashSet<>(containsFilter(employees, query)), new HashSet<>(found));
+        }
+    }
+
+    // TIMING ---
+
+    @Test
+    public void searches100kEmployees_inMilliseconds() {
+        List<Employee> employees = synthetic(100_000, new Random(42));
+
+        long buildStart = System.nanoTime();
+        EmployeeSearchIndex index = EmployeeSearchIndex.build(employees);
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        for (String query : QUERIES) { // warm up the JIT before timing
+            index.search(query);
+        }
+        int rounds = 5;
+        long searchStart = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            for (String query : QUERIES) {
+                index.search(query);
+            }
+        }
+        long perQueryMs = (System.nanoTime() - searchStart) / 1_000_000 / (rounds * QUERIES.length);
+
+        assertEquals(100_000, index.size());
+        assertTrue("build took " + buildMs + "ms", buildMs < 10_000);
+        // generous: a keystroke's search should fit well inside a frame budget on a dev machine
+        assertTrue("average search took " + perQueryMs + "ms", perQueryMs < 100);
+    }
+
+    // HELPERS ---
+
+    // the adapter's filter before EmployeeSearchIndex replaced it
+    private static List<Employee> containsFilter(List<Employee> employees, String text) {
+        String q = text.toLowerCase(Locale.ROOT);
+        List<Employee> results = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getFirstname().toLowerCase(Locale.ROOT).contains(q) ||
+                    employee.getLastname().toLowerCase(Locale.ROOT).contains(q) ||
+                    employee.getEmail().toLowerCase(Locale.ROOT).contains(q) ||
+                    employee.getDepartment().toLowerCase(Locale.ROOT).contains(q)) {
+                results.add(employee);
+            }
+        }
+        return results;
+    }
+
+    private static List<Employee> synthetic(int count, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST[random.nextInt(FIRST.length)];
+            String last = LAST[random.nextInt(LAST.length)];
+            String email = (first + "." + last + i + "@staffsync.com").toLowerCase(Locale.ROOT);
+            employees.add(employee(i, first, last, email, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+        }
+        return employees;
+    }
+
+    private static Employee employee(int id, String first, String last, String email, String department) {
+        return new Employee(id, first, last, email, department, 30000, "Mon, 08 Jan 2024 00:00:00 GMT");
+    }
+}
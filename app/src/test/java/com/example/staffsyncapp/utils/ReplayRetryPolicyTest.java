@@ -0,0 +1,97 @@
+package com.example.staffsyncapp.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * ReplayRetryPolicy with a fixed clock and scripted randomness: the backoff formula, its jitter
+ * bounds and cap, the MAX_RETRIES cut-off and dead-lettering of permanent errors.
+ */
+public class ReplayRetryPolicyTest {
+    private static final int MAX_RETRIES = 6; // as OfflineSyncManager
+    private static final long NOW = 1_700_000_000_000L;
+
+    private double nextRandom = 0;
+    private long now = NOW;
+    private final ReplayRetryPolicy policy = new ReplayRetryPolicy(MAX_RETRIES, () -> now, () -> nextRandom);
+
+    // BACKOFF ---
+
+    @Test
+    public void delayDoublesPerAttempt_fromBase() {
+        nextRandom = 0; // no jitter: exactly the fixed half
+        for (int attempts = 1; attempts <= 5; attempts++) {
+            long full = ReplayRetryPolicy.BASE_BACKOFF_MS << (attempts - 1);
+            assertEquals("attempt " + attempts, full / 2, policy.backoff(attempts));
+        }
+    }
+
+    @Test
+    public void jitter_staysWithinUpperHalfOfTheDelay() {
+        Random random = new Random(19);
+        for (int attempts = 1; attempts <= 12; attempts++) {
+            long full = Math.min(ReplayRetryPolicy.BASE_BACKOFF_MS << (attempts - 1), ReplayRetryPolicy.MAX_BACKOFF_MS);
+            for (int i = 0; i < 200; i++) {
+                nextRandom = random.nextDouble();
+                long delay = policy.backoff(attempts);
+                assertTrue(delay + "ms for attempt " + attempts, delay >= full / 2 && delay < full);
+            }
+        }
+        nextRandom = Math.nextDown(1.0); // the largest value Random.nextDouble can return
+        assertTrue(policy.backoff(1) < ReplayRetryPolicy.BASE_BACKOFF_MS);
+    }
+
+    @Test
+    public void delayIsCapped_andNeverOverflows() {
+        nextRandom = Math.nextDown(1.0);
+        for (int attempts : new int[]{10, 20, 21, 63, 64, 1000, Integer.MAX_VALUE}) {
+            long delay = policy.backoff(attempts);
+            assertTrue("attempt " + attempts + ": " + delay, delay > 0 && delay < ReplayRetryPolicy.MAX_BACKOFF_MS);
+        }
+        nextRandom = 0;
+        assertEquals(ReplayRetryPolicy.MAX_BACKOFF_MS / 2, policy.backoff(1000));
+    }
+
+    @Test
+    public void nextAttempt_isMeasuredFromTheInjectedClock() {
+        nextRandom = 0;
+        assertEquals(NOW + ReplayRetryPolicy.BASE_BACKOFF_MS / 2, policy.nextAttempt(1));
+
+        long due = policy.nextAttempt(1);
+        assertFalse(policy.isDue(due));
+        now = due;
+        assertTrue(policy.isDue(due));
+        assertTrue(policy.isDue(0)); // never failed
+    }
+
+    // DEAD LETTERS ---
+
+    @Test
+    public void retryableFailures_deadLetterAtMaxRetries() {
+        for (int attempts = 1; attempts < MAX_RETRIES; attempts++) {
+            assertFalse("attempt " + attempts, policy.shouldDeadLetter(attempts, true));
+        }
+        assertTrue(policy.shouldDeadLetter(MAX_RETRIES, true));
+        assertTrue(policy.shouldDeadLetter(MAX_RETRIES + 1, true)); // e.g. a merged row that was already over
+    }
+
+    @Test
+    public void permanentFailures_deadLetterOnFirstAttempt() {
+        assertTrue(policy.shouldDeadLetter(1, false));
+    }
+
+    @Test
+    public void onlyTransientStatuses_areRetryable() {
+        for (int status : new int[]{-1, 408, 429, 500, 502, 503, 504}) {
+            assertTrue("status " + status, ReplayRetryPolicy.isRetryable(status));
+        }
+        for (int status : new int[]{400, 401, 403, 404, 409, 410, 422}) {
+            assertFalse("status " + status, ReplayRetryPolicy.isRetryable(status));
+        }
+    }
+}